@@ -0,0 +1,13 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (index rebuilds, flushers, reconcilers) run on the Boot-managed
+// task executor and scheduler; pool sizes are set in application.properties.
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,8 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.config;
 
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,19 +30,22 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
-    private final MongoUserDetailsService userDetailsService;
     private final CustomOAuth2UserService oAuth2UserService;
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenDenylist tokenDenylist;
     private static final String FRONTEND_URL = "http://localhost:8081";
 
     public SecurityConfig(JwtUtil jwtUtil, 
-                        MongoUserDetailsService userDetailsService,
                         CustomOAuth2UserService oAuth2UserService,
-                        OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler) {
+                        OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler,
+                        UserDetailsCache userDetailsCache,
+                        TokenDenylist tokenDenylist) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
         this.oAuth2UserService = oAuth2UserService;
         this.oAuth2LoginSuccessHandler = oAuth2LoginSuccessHandler;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenDenylist = tokenDenylist;
     }
 
     // --- 1) Define CORS policy ---
@@ -60,7 +65,7 @@ public class SecurityConfig {
     // --- 2) Security filter chain ---
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsCache, tokenDenylist);
 
         http
             .securityMatcher("/**")
@@ -74,14 +79,23 @@ public class SecurityConfig {
                 // Public endpoints
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/users").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/users/directory", "/api/users/search", "/api/users/*/summary").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/users/files/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/users/images/**").permitAll()
                 .requestMatchers("/api/posts/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/enrollments").permitAll()
                 .requestMatchers("/api/courses/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/leaderboard").permitAll()
                 .requestMatchers("/error").permitAll()
+                // Live comment stream is as public as GET /api/comments
+                .requestMatchers(HttpMethod.GET, "/ws/posts/**").permitAll()
+                // Operational endpoints
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .requestMatchers("/api/moderation/**").hasRole("ADMIN")
                 // Comment endpoints - GET is public, others require auth
                 .requestMatchers(HttpMethod.GET, "/api/comments/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/comments/import").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/comments/**").authenticated()
                 .requestMatchers(HttpMethod.PUT, "/api/comments/**").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/comments/**").authenticated()
@@ -112,9 +126,12 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    // --- 4) Password encoder ---
+    // --- 4) Password encoder: BCrypt on its own bounded pool, sized to the CPUs by default ---
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password-hashing.threads:0}") int threads,
+                                           @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, meterRegistry);
     }
 }
\ No newline at end of file
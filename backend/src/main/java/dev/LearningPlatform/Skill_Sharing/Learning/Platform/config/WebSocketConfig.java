@@ -0,0 +1,24 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.config;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller.CommentStreamHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final CommentStreamHandler commentStreamHandler;
+
+    public WebSocketConfig(CommentStreamHandler commentStreamHandler) {
+        this.commentStreamHandler = commentStreamHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(commentStreamHandler, "/ws/posts/*/comments")
+                .setAllowedOrigins("http://localhost:8081");
+    }
+}
@@ -3,9 +3,13 @@ package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.UserRepository;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.JwtUtil;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.LoginRateLimiter;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.RefreshTokenService;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,7 +21,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Date;
 import java.util.Map;
 
 @RestController
@@ -36,23 +39,79 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> credentials) {
         String email = credentials.get("email");
         String password = credentials.get("password");
+        long retryAfter = loginRateLimiter.tryAcquire(email);
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(Map.of("message", "Too many login attempts, please retry later"));
+        }
         Authentication authentication = authManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, password)
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
         User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-        String token = Jwts.builder()
-                .setSubject(email)
-                .claim("roles", user.getRoles())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
-                .signWith(SignatureAlgorithm.HS512, "G03eCwTVW2XtKSP38S6o0yYrF3PRsqU+dqgNkRtkm9YPvOekYZ4hJkpEU6QFNNRfJKsRYEdfSkUIFWYF8uzHEQ==")
-                .compact();
-        return ResponseEntity.ok(Map.of("token", token, "user", user));
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRoles());
+        String refreshToken = refreshTokenService.issue(user.getEmail());
+        return ResponseEntity.ok(Map.of("token", token, "refreshToken", refreshToken, "user", user));
     }
-}
 
+    // Swaps a refresh token for a new access token and a new refresh token, without a password check
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refresh(@RequestBody Map<String, String> body) {
+        try {
+            RefreshTokenService.Tokens tokens = refreshTokenService.refresh(body.get("refreshToken"));
+            return ResponseEntity.ok(Map.of("token", tokens.getAccessToken(), "refreshToken", tokens.getRefreshToken()));
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Revokes the bearer token of this request and, when given, the session of its refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String header,
+                                    @RequestBody(required = false) Map<String, String> body) {
+        if (body != null) {
+            refreshTokenService.revoke(body.get("refreshToken"));
+        }
+        if (header == null || !header.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Missing bearer token"));
+        }
+        try {
+            Claims claims = jwtUtil.validate(header.substring(7));
+            if (claims.getId() != null) {
+                tokenDenylist.revokeToken(claims.getId(), claims.getExpiration());
+            } else {
+                // Tokens without an id can only be revoked together with the rest of the user's tokens
+                tokenDenylist.revokeAllFor(claims.getSubject());
+            }
+            return ResponseEntity.noContent().build();
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token"));
+        }
+    }
+
+    // Revokes every token issued to the caller so far, on all devices
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserDetails)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Not authenticated"));
+        }
+        tokenDenylist.revokeAllFor(authentication.getName());
+        refreshTokenService.revokeAllFor(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
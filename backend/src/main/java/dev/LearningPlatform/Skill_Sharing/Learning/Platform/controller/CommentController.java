@@ -1,13 +1,27 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
 
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CommentThreadNode;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CursorPage;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CommentReactionService.Reaction;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CommentImportService;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CommentNotFoundException;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CommentService;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.ContentRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -17,6 +31,9 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private CommentImportService commentImportService;
+
     @GetMapping
     public List<Comment> listComments() {
         return commentService.getAllComments();
@@ -32,6 +49,18 @@ public class CommentController {
         return commentService.count();
     }
 
+    @GetMapping("/{id}/replies/page")
+    public ResponseEntity<CursorPage<Comment>> pageReplies(@PathVariable String id,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           @RequestParam(defaultValue = "asc") String order) {
+        try {
+            return ResponseEntity.ok(commentService.getReplyPage(id, cursor, size, "desc".equalsIgnoreCase(order)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}/replies/count")
     public long countReplies(@PathVariable String id) {
         return commentService.countReplies(id);
@@ -64,6 +93,8 @@ public class CommentController {
         return updated != null
                 ? ResponseEntity.ok(updated)
                 : ResponseEntity.notFound().build();
+        } catch (ContentRejectedException e) {
+            return ResponseEntity.unprocessableEntity().build();
         } catch (Exception e) {
             System.out.println("Debug - Unexpected error: " + e.getMessage());
             return ResponseEntity.status(500).body(null);
@@ -81,19 +112,45 @@ public class CommentController {
     }
 
     @PutMapping("/{id}/like")
-    public ResponseEntity<Comment> likeComment(@PathVariable String id) {
-        Comment updated = commentService.likeComment(id);
-        return updated != null
-                ? ResponseEntity.ok(updated)
-                : ResponseEntity.notFound().build();
+    public ResponseEntity<Comment> likeComment(@PathVariable String id, Authentication authentication) {
+        return react(() -> commentService.likeComment(id, authentication.getName()));
+    }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<Comment> unlikeComment(@PathVariable String id, Authentication authentication) {
+        return react(() -> commentService.unlikeComment(id, authentication.getName()));
     }
 
     @PutMapping("/{id}/dislike")
-    public ResponseEntity<Comment> dislikeComment(@PathVariable String id) {
-        Comment updated = commentService.dislikeComment(id);
-        return updated != null
-                ? ResponseEntity.ok(updated)
-                : ResponseEntity.notFound().build();
+    public ResponseEntity<Comment> dislikeComment(@PathVariable String id, Authentication authentication) {
+        return react(() -> commentService.dislikeComment(id, authentication.getName()));
+    }
+
+    @DeleteMapping("/{id}/dislike")
+    public ResponseEntity<Comment> undislikeComment(@PathVariable String id, Authentication authentication) {
+        return react(() -> commentService.undislikeComment(id, authentication.getName()));
+    }
+
+    @GetMapping("/{id}/reaction")
+    public ResponseEntity<?> getReaction(@PathVariable String id, Authentication authentication) {
+        String userEmail = authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? null : authentication.getName();
+        try {
+            Set<Reaction> reactions = commentService.getReactions(id, userEmail);
+            return ResponseEntity.ok(Map.of(
+                    "liked", reactions.contains(Reaction.LIKE),
+                    "disliked", reactions.contains(Reaction.DISLIKE)));
+        } catch (CommentNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private ResponseEntity<Comment> react(Supplier<Comment> reaction) {
+        try {
+            return ResponseEntity.ok(reaction.get());
+        } catch (CommentNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PostMapping("/{id}/reply")
@@ -112,4 +169,31 @@ public class CommentController {
     public ResponseEntity<List<Comment>> getCommentsByPostId(@PathVariable String postId) {
         return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/post/{postId}/page")
+    public ResponseEntity<CursorPage<Comment>> pageCommentsByPostId(@PathVariable String postId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "20") int size,
+                                                                    @RequestParam(defaultValue = "desc") String order) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentPage(postId, cursor, size, !"asc".equalsIgnoreCase(order)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // NDJSON body, one comment per line; see CommentImportService for the accepted fields
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<Map<String, Object>> importComments(HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(commentImportService.importComments(request.getInputStream()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Could not read import body"));
+        }
+    }
+
+    @GetMapping("/post/{postId}/tree")
+    public ResponseEntity<List<CommentThreadNode>> getCommentTree(@PathVariable String postId) {
+        return ResponseEntity.ok(commentService.getCommentTree(postId));
+    }
+}
@@ -0,0 +1,53 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CommentLiveHub;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+// ws://.../ws/posts/{postId}/comments - server-to-client only; frames sent by the client are ignored
+@Component
+public class CommentStreamHandler extends TextWebSocketHandler {
+    private static final String POST_ID = "postId";
+
+    private final CommentLiveHub hub;
+
+    public CommentStreamHandler(CommentLiveHub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String postId = postIdOf(session);
+        if (postId == null) {
+            session.close(CloseStatus.BAD_DATA);
+            return;
+        }
+        session.getAttributes().put(POST_ID, postId);
+        hub.subscribe(postId, session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Read-only channel
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object postId = session.getAttributes().get(POST_ID);
+        if (postId != null) {
+            hub.unsubscribe((String) postId, session);
+        }
+    }
+
+    private static String postIdOf(WebSocketSession session) {
+        if (session.getUri() == null) {
+            return null;
+        }
+        String[] segments = session.getUri().getPath().split("/");
+        // ["", "ws", "posts", "{postId}", "comments"]
+        return segments.length >= 5 && !segments[3].isBlank() ? segments[3] : null;
+    }
+}
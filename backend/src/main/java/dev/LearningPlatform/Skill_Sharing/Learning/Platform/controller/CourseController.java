@@ -1,6 +1,8 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
 
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CourseRecommendation;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Course;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CourseRecommendationService;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CourseService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,9 +19,11 @@ import java.util.Optional;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseRecommendationService recommendationService;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, CourseRecommendationService recommendationService) {
         this.courseService = courseService;
+        this.recommendationService = recommendationService;
     }
 
     @PostMapping
@@ -52,6 +56,13 @@ public class CourseController {
         return course.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/recommendations")
+    public ResponseEntity<List<CourseRecommendation>> getRecommendations(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(recommendationService.getRecommendations(id, limit));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Course> updateCourse(@PathVariable String id, @Valid @RequestBody Course updatedCourse, Authentication auth) {
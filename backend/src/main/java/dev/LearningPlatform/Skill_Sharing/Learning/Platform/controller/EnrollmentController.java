@@ -1,22 +1,34 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
 
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Enrollment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonTime;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.EnrollmentService;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.LessonProgressLogService;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.LessonTimeService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestMethod;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/enrollments")
 @CrossOrigin(origins = "http://localhost:8081", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
 public class EnrollmentController {
     private final EnrollmentService enrollmentService;
+    private final LessonTimeService lessonTimeService;
+    private final LessonProgressLogService progressLogService;
 
-    public EnrollmentController(EnrollmentService enrollmentService) {
+    public EnrollmentController(EnrollmentService enrollmentService,
+                                LessonTimeService lessonTimeService,
+                                LessonProgressLogService progressLogService) {
         this.enrollmentService = enrollmentService;
+        this.lessonTimeService = lessonTimeService;
+        this.progressLogService = progressLogService;
     }
 
     @PostMapping("/{courseId}")
@@ -55,6 +67,47 @@ public class EnrollmentController {
         }
     }
 
+    // Sent by the lesson page roughly every heartbeat interval while a lesson is open
+    @PostMapping("/{courseId}/lessons/{lessonId}/heartbeat")
+    public ResponseEntity<Void> lessonHeartbeat(
+            @PathVariable String courseId,
+            @PathVariable String lessonId,
+            Authentication authentication
+    ) {
+        LessonTimeService.Heartbeat result = lessonTimeService.recordHeartbeat(authentication.getName(), courseId, lessonId);
+        if (result == LessonTimeService.Heartbeat.NOT_ENROLLED) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (result == LessonTimeService.Heartbeat.BUSY) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(lessonTimeService.getHeartbeatIntervalSeconds()))
+                    .build();
+        }
+        // Early heartbeats are accepted but not credited
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{courseId}/time")
+    public ResponseEntity<List<LessonTime>> getLessonTimes(
+            @PathVariable String courseId,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(lessonTimeService.getLessonTimes(authentication.getName(), courseId));
+    }
+
+    // Learning timeline: compacted per-day summaries followed by the not yet compacted events
+    @GetMapping("/{courseId}/history")
+    public ResponseEntity<Map<String, Object>> getProgressHistory(
+            @PathVariable String courseId,
+            Authentication authentication
+    ) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(Map.of(
+                "days", progressLogService.getDailyHistory(userEmail, courseId),
+                "events", progressLogService.getRecentEvents(userEmail, courseId)
+        ));
+    }
+
     @GetMapping("/{courseId}/status")
     public ResponseEntity<Boolean> isUserEnrolled(
             @PathVariable String courseId,
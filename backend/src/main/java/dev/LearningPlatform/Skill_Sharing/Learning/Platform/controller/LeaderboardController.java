@@ -0,0 +1,41 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.LeaderboardEntry;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.LeaderboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = "http://localhost:8081")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, List<LeaderboardEntry>>> getLeaderboard(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(Map.of(
+                "learners", leaderboardService.getTopLearners(limit),
+                "instructors", leaderboardService.getTopInstructors(limit)
+        ));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<Map<String, LeaderboardEntry>> getMyRank(Authentication authentication) {
+        String userEmail = authentication.getName();
+        Map<String, LeaderboardEntry> ranks = new HashMap<>();
+        ranks.put("learner", leaderboardService.getLearnerRank(userEmail).orElse(null));
+        ranks.put("instructor", leaderboardService.getInstructorRank(userEmail).orElse(null));
+        return ResponseEntity.ok(ranks);
+    }
+}
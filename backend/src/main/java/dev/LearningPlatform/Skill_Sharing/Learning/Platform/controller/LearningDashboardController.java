@@ -0,0 +1,29 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.LearningDashboardItem;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.PagedResponse;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.LearningDashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/me")
+@CrossOrigin(origins = "http://localhost:8081")
+public class LearningDashboardController {
+
+    private final LearningDashboardService learningDashboardService;
+
+    public LearningDashboardController(LearningDashboardService learningDashboardService) {
+        this.learningDashboardService = learningDashboardService;
+    }
+
+    @GetMapping("/learning")
+    public ResponseEntity<PagedResponse<LearningDashboardItem>> getMyLearning(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(learningDashboardService.getDashboard(userEmail, page, size));
+    }
+}
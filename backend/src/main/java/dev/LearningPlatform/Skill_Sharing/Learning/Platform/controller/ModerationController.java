@@ -0,0 +1,29 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.ContentModerationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/moderation")
+@CrossOrigin(origins = "http://localhost:8081")
+public class ModerationController {
+
+    private final ContentModerationService moderationService;
+
+    public ModerationController(ContentModerationService moderationService) {
+        this.moderationService = moderationService;
+    }
+
+    // Re-reads bannedTerms right away instead of waiting for the scheduled reload
+    @PostMapping("/reload")
+    public ResponseEntity<?> reload() {
+        int terms = moderationService.reload();
+        if (terms < 0) {
+            return ResponseEntity.status(503).body(Map.of("message", "Could not reload banned terms"));
+        }
+        return ResponseEntity.ok(Map.of("terms", terms));
+    }
+}
@@ -1,12 +1,14 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
 
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.ContentRejectedException;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.PostService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.time.LocalDateTime;
 import java.util.Base64;
@@ -48,6 +50,8 @@ public class PostController {
             
             Post savedPost = postService.createPost(post, null);
             return ResponseEntity.ok(savedPost);
+        } catch (ContentRejectedException e) {
+            return ResponseEntity.unprocessableEntity().build();
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.badRequest().build();
@@ -72,6 +76,11 @@ public class PostController {
         return post.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/comment-counts")
+    public ResponseEntity<Map<String, Integer>> getCommentCounts(@RequestBody List<String> postIds) {
+        return ResponseEntity.ok(postService.getCommentCounts(postIds));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Post> updatePost(
             @PathVariable String id,
@@ -102,6 +111,8 @@ public class PostController {
             return ResponseEntity.ok(savedPost);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (ContentRejectedException e) {
+            return ResponseEntity.unprocessableEntity().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,6 +1,12 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.controller;
 
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CursorPage;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.UserProfile;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.UserSummary;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.UserDirectoryService;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.UserSearchIndex;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
@@ -10,7 +16,9 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.io.IOException;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -20,12 +28,45 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     // Get all users
     @GetMapping
     public List<User> getAllUsers() {
         return userService.getAllUsers();
     }
 
+    // Paged directory of public user summaries, ordered by id
+    @GetMapping("/directory")
+    public ResponseEntity<?> getDirectory(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<UserSummary> page = userDirectoryService.getDirectory(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Prefix search over names and usernames for the people search box and @mentions
+    @GetMapping("/search")
+    public List<UserSummary> searchUsers(@RequestParam("q") String query,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        return userSearchIndex.search(query, limit);
+    }
+
+    // Name and avatar for author chips
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<UserSummary> getUserSummary(@PathVariable String id) {
+        return userDirectoryService.getSummary(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // Get user by ID
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable String id) {
@@ -99,15 +140,15 @@ public class UserController {
             if (location != null) user.setLocation(location);
             if (bio != null) user.setBio(bio);
 
-            if (profilePhoto != null && !profilePhoto.isEmpty()) {
-                user.setProfilePhotoBase64(convertToBase64(profilePhoto));
+            // Photos are written separately so a profile edit never rewrites them
+            String profilePhotoBase64 = profilePhoto != null && !profilePhoto.isEmpty() ? convertToBase64(profilePhoto) : null;
+            String coverPhotoBase64 = coverPhoto != null && !coverPhoto.isEmpty() ? convertToBase64(coverPhoto) : null;
+            if ((profilePhotoBase64 != null || coverPhotoBase64 != null)
+                    && userService.updatePhotos(id, profilePhotoBase64, coverPhotoBase64) == null) {
+                return ResponseEntity.notFound().build();
             }
 
-            if (coverPhoto != null && !coverPhoto.isEmpty()) {
-                user.setCoverPhotoBase64(convertToBase64(coverPhoto));
-            }
-
-            User updatedUser = userService.updateUser(id, user);
+            UserProfile updatedUser = userService.updateUser(id, user);
             return updatedUser != null ? ResponseEntity.ok(updatedUser) : ResponseEntity.notFound().build();
 
         } catch (DuplicateKeyException e) {
@@ -117,11 +158,54 @@ public class UserController {
         }
     }
 
-    // Delete user
+    // Replace profile and/or cover photo
+    @PutMapping(value = "/{id}/photos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> updatePhotos(
+            @PathVariable String id,
+            @RequestParam(required = false) MultipartFile profilePhoto,
+            @RequestParam(required = false) MultipartFile coverPhoto
+    ) {
+        try {
+            String profilePhotoBase64 = profilePhoto != null && !profilePhoto.isEmpty() ? convertToBase64(profilePhoto) : null;
+            String coverPhotoBase64 = coverPhoto != null && !coverPhoto.isEmpty() ? convertToBase64(coverPhoto) : null;
+            UserProfile updatedUser = userService.updatePhotos(id, profilePhotoBase64, coverPhotoBase64);
+            return updatedUser != null ? ResponseEntity.ok(updatedUser) : ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error processing image");
+        }
+    }
+
+    // Delete user: the account is closed at once, the rest is purged in the background
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable String id) {
-        userService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+        if (!userService.deleteUser(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/deletion").build().toUri())
+                .build();
+    }
+
+    // Progress of an account deletion: current phase and what has been removed so far
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<Map<String, Object>> getDeletionProgress(@PathVariable String id) {
+        return userService.getDeletionProgress(id)
+                .map(task -> {
+                    Map<String, Object> progress = new LinkedHashMap<>();
+                    progress.put("status", task.getStatus());
+                    progress.put("phase", BackgroundTask.DONE.equals(task.getStatus())
+                            ? "DONE" : task.getCheckpoint().getOrDefault("phase", "POSTS"));
+                    Map<String, String> removed = new LinkedHashMap<>(task.getCheckpoint());
+                    removed.remove("phase");
+                    removed.remove("cursor");
+                    progress.put("removed", removed);
+                    progress.put("updatedAt", task.getUpdatedAt());
+                    if (task.getLastError() != null) {
+                        progress.put("lastError", task.getLastError());
+                    }
+                    return ResponseEntity.ok(progress);
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 
     // Serve Base64 image as binary
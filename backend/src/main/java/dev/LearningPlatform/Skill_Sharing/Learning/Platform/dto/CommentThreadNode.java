@@ -0,0 +1,20 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CommentThreadNode {
+    @JsonUnwrapped
+    private final Comment comment;
+    private final List<CommentThreadNode> replies = new ArrayList<>();
+
+    public CommentThreadNode(Comment comment) {
+        this.comment = comment;
+    }
+
+    public Comment getComment() { return comment; }
+    public List<CommentThreadNode> getReplies() { return replies; }
+}
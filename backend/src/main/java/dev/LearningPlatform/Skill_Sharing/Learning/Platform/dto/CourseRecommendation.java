@@ -0,0 +1,30 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto;
+
+public class CourseRecommendation {
+    private final String courseId;
+    private final String courseName;
+    private final String courseLevel;
+    private final String institute;
+    private final String courseType;
+    private final double score;
+    private final int sharedLearners;
+
+    public CourseRecommendation(String courseId, String courseName, String courseLevel, String institute,
+                                String courseType, double score, int sharedLearners) {
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.courseLevel = courseLevel;
+        this.institute = institute;
+        this.courseType = courseType;
+        this.score = score;
+        this.sharedLearners = sharedLearners;
+    }
+
+    public String getCourseId() { return courseId; }
+    public String getCourseName() { return courseName; }
+    public String getCourseLevel() { return courseLevel; }
+    public String getInstitute() { return institute; }
+    public String getCourseType() { return courseType; }
+    public double getScore() { return score; }
+    public int getSharedLearners() { return sharedLearners; }
+}
@@ -0,0 +1,20 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto;
+
+public class LeaderboardEntry {
+    private final int rank;
+    private final String name;
+    private final String username;
+    private final long score;
+
+    public LeaderboardEntry(int rank, String name, String username, long score) {
+        this.rank = rank;
+        this.name = name;
+        this.username = username;
+        this.score = score;
+    }
+
+    public int getRank() { return rank; }
+    public String getName() { return name; }
+    public String getUsername() { return username; }
+    public long getScore() { return score; }
+}
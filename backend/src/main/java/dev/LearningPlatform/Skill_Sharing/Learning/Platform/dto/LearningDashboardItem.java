@@ -0,0 +1,54 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto;
+
+// One enrolled course on the "My Learning" dashboard: course summary (no modules)
+// plus the learner's progress and the first lesson they have not completed yet.
+public class LearningDashboardItem {
+
+    public static class LessonRef {
+        private final String id;
+        private final String title;
+
+        public LessonRef(String id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+
+        public String getId() { return id; }
+        public String getTitle() { return title; }
+    }
+
+    private String enrollmentId;
+    private String courseId;
+    private String courseName;
+    private String courseLevel;
+    private String institute;
+    private String courseType;
+    private String thumbnail;
+    private int progress;
+    private int completedLessons;
+    private int totalLessons;
+    private LessonRef nextLesson;
+
+    public String getEnrollmentId() { return enrollmentId; }
+    public void setEnrollmentId(String enrollmentId) { this.enrollmentId = enrollmentId; }
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+    public String getCourseName() { return courseName; }
+    public void setCourseName(String courseName) { this.courseName = courseName; }
+    public String getCourseLevel() { return courseLevel; }
+    public void setCourseLevel(String courseLevel) { this.courseLevel = courseLevel; }
+    public String getInstitute() { return institute; }
+    public void setInstitute(String institute) { this.institute = institute; }
+    public String getCourseType() { return courseType; }
+    public void setCourseType(String courseType) { this.courseType = courseType; }
+    public String getThumbnail() { return thumbnail; }
+    public void setThumbnail(String thumbnail) { this.thumbnail = thumbnail; }
+    public int getProgress() { return progress; }
+    public void setProgress(int progress) { this.progress = progress; }
+    public int getCompletedLessons() { return completedLessons; }
+    public void setCompletedLessons(int completedLessons) { this.completedLessons = completedLessons; }
+    public int getTotalLessons() { return totalLessons; }
+    public void setTotalLessons(int totalLessons) { this.totalLessons = totalLessons; }
+    public LessonRef getNextLesson() { return nextLesson; }
+    public void setNextLesson(LessonRef nextLesson) { this.nextLesson = nextLesson; }
+}
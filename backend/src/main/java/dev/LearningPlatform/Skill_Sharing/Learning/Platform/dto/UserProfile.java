@@ -0,0 +1,42 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+
+import java.util.List;
+
+// A user's own profile as returned by profile and photo updates: the editable fields only,
+// never photos, password or enrollments (which those updates do not load).
+public class UserProfile {
+    private final String id;
+    private final String name;
+    private final String username;
+    private final String email;
+    private final int age;
+    private final String location;
+    private final String bio;
+    private final List<String> roles;
+
+    private UserProfile(User user) {
+        this.id = user.getId();
+        this.name = user.getName();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.age = user.getAge();
+        this.location = user.getLocation();
+        this.bio = user.getBio();
+        this.roles = user.getRoles();
+    }
+
+    public static UserProfile of(User user) {
+        return user == null ? null : new UserProfile(user);
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public int getAge() { return age; }
+    public String getLocation() { return location; }
+    public String getBio() { return bio; }
+    public List<String> getRoles() { return roles; }
+}
@@ -0,0 +1,22 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto;
+
+// Public face of a user for directories and author chips: no email, photos or enrollments.
+// avatarUrl is null when the user has no profile photo.
+public class UserSummary {
+    private final String id;
+    private final String name;
+    private final String username;
+    private final String avatarUrl;
+
+    public UserSummary(String id, String name, String username, String avatarUrl) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.avatarUrl = avatarUrl;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getUsername() { return username; }
+    public String getAvatarUrl() { return avatarUrl; }
+}
@@ -0,0 +1,20 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.event;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+
+// Published by CommentService after a comment is created, edited, deleted or reacted to.
+// comment is the state after the change; for DELETED it is the removed comment.
+public class CommentChangedEvent {
+    public enum Type { CREATED, UPDATED, DELETED, REACTED }
+
+    private final Type type;
+    private final Comment comment;
+
+    public CommentChangedEvent(Type type, Comment comment) {
+        this.type = type;
+        this.comment = comment;
+    }
+
+    public Type getType() { return type; }
+    public Comment getComment() { return comment; }
+}
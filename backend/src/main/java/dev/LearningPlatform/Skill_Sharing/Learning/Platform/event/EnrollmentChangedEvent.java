@@ -0,0 +1,26 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.event;
+
+// Published by EnrollmentService after a user enrolls in or leaves a course.
+// completedLessons is the number of lessons the user had finished when unenrolling.
+public class EnrollmentChangedEvent {
+    private final String userEmail;
+    private final String courseId;
+    private final String courseOwner;
+    private final boolean enrolled;
+    private final int completedLessons;
+
+    public EnrollmentChangedEvent(String userEmail, String courseId, String courseOwner,
+                                  boolean enrolled, int completedLessons) {
+        this.userEmail = userEmail;
+        this.courseId = courseId;
+        this.courseOwner = courseOwner;
+        this.enrolled = enrolled;
+        this.completedLessons = completedLessons;
+    }
+
+    public String getUserEmail() { return userEmail; }
+    public String getCourseId() { return courseId; }
+    public String getCourseOwner() { return courseOwner; }
+    public boolean isEnrolled() { return enrolled; }
+    public int getCompletedLessons() { return completedLessons; }
+}
@@ -0,0 +1,26 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.event;
+
+import java.time.Instant;
+
+// Published by EnrollmentService after a lesson has been marked complete or incomplete.
+public class LessonCompletionToggledEvent {
+    private final String userEmail;
+    private final String courseId;
+    private final String lessonId;
+    private final boolean completed;
+    private final Instant occurredAt;
+
+    public LessonCompletionToggledEvent(String userEmail, String courseId, String lessonId, boolean completed) {
+        this.userEmail = userEmail;
+        this.courseId = courseId;
+        this.lessonId = lessonId;
+        this.completed = completed;
+        this.occurredAt = Instant.now();
+    }
+
+    public String getUserEmail() { return userEmail; }
+    public String getCourseId() { return courseId; }
+    public String getLessonId() { return lessonId; }
+    public boolean isCompleted() { return completed; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
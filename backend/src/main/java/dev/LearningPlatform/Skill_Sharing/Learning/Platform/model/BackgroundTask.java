@@ -0,0 +1,70 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Durable work item processed by BackgroundTaskWorker. A task is claimed by pushing
+// availableAt forward (a lease), so a task whose worker died becomes claimable again
+// once the lease runs out. Finished tasks expire a week after completion.
+@Document(collection = "backgroundTasks")
+@CompoundIndex(name = "status_available", def = "{ 'status': 1, 'availableAt': 1 }")
+public class BackgroundTask {
+    public static final String PENDING = "PENDING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String id;
+    private String type;
+    // Same key means same task: enqueueing an existing key re-arms it instead of adding another
+    @Indexed(unique = true)
+    private String key;
+    private Map<String, String> params = new HashMap<>();
+    private Map<String, String> checkpoint = new HashMap<>();
+    private String status;
+    private int attempts;
+    // Bumped on every enqueue; a worker holding an older generation can no longer checkpoint or complete
+    private long generation;
+    private String owner;
+    private String lastError;
+    private Instant availableAt;
+    private Instant createdAt;
+    private Instant updatedAt;
+    @Indexed(expireAfter = "7d")
+    private Instant completedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public Map<String, String> getParams() { return params; }
+    public void setParams(Map<String, String> params) { this.params = params; }
+    public Map<String, String> getCheckpoint() { return checkpoint; }
+    public void setCheckpoint(Map<String, String> checkpoint) { this.checkpoint = checkpoint; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public long getGeneration() { return generation; }
+    public void setGeneration(long generation) { this.generation = generation; }
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public Instant getAvailableAt() { return availableAt; }
+    public void setAvailableAt(Instant availableAt) { this.availableAt = availableAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+}
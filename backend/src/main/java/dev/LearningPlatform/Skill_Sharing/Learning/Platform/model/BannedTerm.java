@@ -0,0 +1,22 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "bannedTerms")
+public class BannedTerm {
+    @Id
+    private String id;
+    private String term;
+
+    public BannedTerm() {}
+
+    public BannedTerm(String term) {
+        this.term = term;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getTerm() { return term; }
+    public void setTerm(String term) { this.term = term; }
+}
@@ -1,12 +1,23 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 @Document(collection = "comments")
+@CompoundIndexes({
+        @CompoundIndex(name = "post_created", def = "{ 'postId': 1, 'createdAt': 1 }"),
+        @CompoundIndex(name = "post_reply_created_id", def = "{ 'postId': 1, 'reply': 1, 'createdAt': 1, '_id': 1 }"),
+        @CompoundIndex(name = "reply_to_created_id", def = "{ 'replyTo': 1, 'createdAt': 1, '_id': 1 }"),
+        @CompoundIndex(name = "user_author_version", def = "{ 'userEmail': 1, 'authorVersion': 1 }")
+})
 public class Comment {
 
     @Id
@@ -23,8 +34,25 @@ public class Comment {
     private int dislikes;
     private String authorName;
     private String avatarUrl;
+    // Profile version the authorName/avatarUrl copies were taken from (see ProfilePropagationHandler)
+    @JsonIgnore
+    private long authorVersion;
+    // Id the comment had in the system it was imported from, when that was not an ObjectId
+    @Indexed(unique = true, sparse = true)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String legacyId;
     private boolean reply;
     private String replyTo;
+    private int replyCount;
+
+    // Sorted user ordinals of the users who reacted (see CommentReactionService).
+    // Once a comment overflows, further reactions go to the commentReactions collection.
+    @JsonIgnore
+    private List<Integer> likedBy;
+    @JsonIgnore
+    private List<Integer> dislikedBy;
+    @JsonIgnore
+    private boolean reactionOverflow;
 
     public Comment() {
         this.createdAt = Instant.now();
@@ -138,4 +166,52 @@ public class Comment {
     public void setReplyTo(String replyTo) {
         this.replyTo = replyTo;
     }
-}
\ No newline at end of file
+
+    public List<Integer> getLikedBy() {
+        return likedBy;
+    }
+
+    public void setLikedBy(List<Integer> likedBy) {
+        this.likedBy = likedBy;
+    }
+
+    public List<Integer> getDislikedBy() {
+        return dislikedBy;
+    }
+
+    public void setDislikedBy(List<Integer> dislikedBy) {
+        this.dislikedBy = dislikedBy;
+    }
+
+    public boolean isReactionOverflow() {
+        return reactionOverflow;
+    }
+
+    public void setReactionOverflow(boolean reactionOverflow) {
+        this.reactionOverflow = reactionOverflow;
+    }
+
+    public int getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public String getLegacyId() {
+        return legacyId;
+    }
+
+    public void setLegacyId(String legacyId) {
+        this.legacyId = legacyId;
+    }
+
+    public long getAuthorVersion() {
+        return authorVersion;
+    }
+
+    public void setAuthorVersion(long authorVersion) {
+        this.authorVersion = authorVersion;
+    }
+}
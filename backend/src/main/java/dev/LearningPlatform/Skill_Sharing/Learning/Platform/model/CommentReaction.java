@@ -0,0 +1,46 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Overflow storage for reactions on comments whose inline likedBy/dislikedBy arrays are
+// full. The id is "<commentId>:<type>:<userOrdinal>", so inserting a duplicate fails.
+@Document(collection = "commentReactions")
+public class CommentReaction {
+    @Id
+    private String id;
+    @Indexed
+    private String commentId;
+    private String type;
+    @Indexed
+    private int userOrdinal;
+    private Instant createdAt;
+
+    public CommentReaction() {}
+
+    public CommentReaction(String commentId, String type, int userOrdinal) {
+        this.id = idFor(commentId, type, userOrdinal);
+        this.commentId = commentId;
+        this.type = type;
+        this.userOrdinal = userOrdinal;
+        this.createdAt = Instant.now();
+    }
+
+    public static String idFor(String commentId, String type, int userOrdinal) {
+        return commentId + ":" + type + ":" + userOrdinal;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getCommentId() { return commentId; }
+    public void setCommentId(String commentId) { this.commentId = commentId; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public int getUserOrdinal() { return userOrdinal; }
+    public void setUserOrdinal(int userOrdinal) { this.userOrdinal = userOrdinal; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -1,11 +1,13 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.HashSet;
 import java.util.Set;
 
 @Document(collection = "enrollments")
+@CompoundIndex(name = "user_course", def = "{ 'userEmail': 1, 'courseId': 1 }")
 public class Enrollment {
     @Id
     private String id;
@@ -0,0 +1,43 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+// Per-day summary of a learner's lesson toggles in one course (day is a UTC yyyy-MM-dd)
+@Document(collection = "lessonProgressDays")
+@CompoundIndex(name = "user_course_day", def = "{ 'userEmail': 1, 'courseId': 1, 'day': 1 }")
+public class LessonProgressDay {
+    @Id
+    private String id;
+    private String userEmail;
+    private String courseId;
+    private String day;
+    private int completions;
+    private int reversals;
+    private List<String> completedLessonIds;
+    private Instant firstAt;
+    private Instant lastAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+    public int getCompletions() { return completions; }
+    public void setCompletions(int completions) { this.completions = completions; }
+    public int getReversals() { return reversals; }
+    public void setReversals(int reversals) { this.reversals = reversals; }
+    public List<String> getCompletedLessonIds() { return completedLessonIds; }
+    public void setCompletedLessonIds(List<String> completedLessonIds) { this.completedLessonIds = completedLessonIds; }
+    public Instant getFirstAt() { return firstAt; }
+    public void setFirstAt(Instant firstAt) { this.firstAt = firstAt; }
+    public Instant getLastAt() { return lastAt; }
+    public void setLastAt(Instant lastAt) { this.lastAt = lastAt; }
+}
@@ -0,0 +1,46 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Append-only record of one lesson completion toggle. Events older than the retention
+// window are folded into LessonProgressDay summaries and removed by the compactor.
+@Document(collection = "lessonProgressEvents")
+@CompoundIndex(name = "user_course_at", def = "{ 'userEmail': 1, 'courseId': 1, 'at': 1 }")
+public class LessonProgressEvent {
+    @Id
+    private String id;
+    private String userEmail;
+    private String courseId;
+    private String lessonId;
+    private boolean completed;
+    @Indexed
+    private Instant at;
+
+    public LessonProgressEvent() {}
+
+    public LessonProgressEvent(String userEmail, String courseId, String lessonId, boolean completed, Instant at) {
+        this.userEmail = userEmail;
+        this.courseId = courseId;
+        this.lessonId = lessonId;
+        this.completed = completed;
+        this.at = at;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+    public String getLessonId() { return lessonId; }
+    public void setLessonId(String lessonId) { this.lessonId = lessonId; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+}
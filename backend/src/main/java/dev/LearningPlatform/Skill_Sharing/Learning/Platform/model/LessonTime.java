@@ -0,0 +1,40 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Time-on-task per (user, course, lesson), accumulated from heartbeats by LessonTimeService
+@Document(collection = "lessonTimes")
+@CompoundIndex(name = "user_course", def = "{ 'userEmail': 1, 'courseId': 1 }")
+public class LessonTime {
+    @Id
+    private String id;
+    private String userEmail;
+    private String courseId;
+    private String lessonId;
+    private long seconds;
+    private long heartbeats;
+    private Instant lastSeenAt;
+
+    public static String idFor(String userEmail, String courseId, String lessonId) {
+        return userEmail + "|" + courseId + "|" + lessonId;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+    public String getLessonId() { return lessonId; }
+    public void setLessonId(String lessonId) { this.lessonId = lessonId; }
+    public long getSeconds() { return seconds; }
+    public void setSeconds(long seconds) { this.seconds = seconds; }
+    public long getHeartbeats() { return heartbeats; }
+    public void setHeartbeats(long heartbeats) { this.heartbeats = heartbeats; }
+    public Instant getLastSeenAt() { return lastSeenAt; }
+    public void setLastSeenAt(Instant lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+}
@@ -28,6 +28,12 @@ public class Post {
     
     private LocalDateTime updatedAt;
 
+    // Maintained with $inc by CommentService
+    private int commentCount;
+
+    // Set when the post is deleted; the post stays hidden until PostCascadeDeleteHandler removes it
+    private LocalDateTime deletedAt;
+
     // Constructor
     public Post() {
         this.createdAt = LocalDateTime.now();
@@ -98,4 +104,20 @@ public class Post {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,52 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// One refresh token, stored by the SHA-256 of its value. Every login starts a family;
+// each refresh marks the presented token rotated and adds its successor to the family.
+// Rotated tokens are kept until they expire so that replaying one can be detected.
+@Document(collection = "refreshTokens")
+public class RefreshToken {
+    @Id
+    private String id;
+    @Indexed
+    private String familyId;
+    @Indexed
+    private String userEmail;
+    private Instant createdAt;
+    // When the family was started; the family cannot be refreshed past familyCreatedAt + max lifetime
+    private Instant familyCreatedAt;
+    private Instant rotatedAt;
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+
+    public RefreshToken() {}
+
+    public RefreshToken(String id, String familyId, String userEmail, Instant familyCreatedAt, Instant expiresAt) {
+        this.id = id;
+        this.familyId = familyId;
+        this.userEmail = userEmail;
+        this.createdAt = Instant.now();
+        this.familyCreatedAt = familyCreatedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getFamilyCreatedAt() { return familyCreatedAt; }
+    public void setFamilyCreatedAt(Instant familyCreatedAt) { this.familyCreatedAt = familyCreatedAt; }
+    public Instant getRotatedAt() { return rotatedAt; }
+    public void setRotatedAt(Instant rotatedAt) { this.rotatedAt = rotatedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,60 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// A revoked access token (id "jti:<token id>") or a per-user cutoff (id "user:<email>")
+// that revokes every token issued to that email before notBefore. Documents expire
+// once no token they cover could still be valid.
+@Document(collection = "revokedTokens")
+public class RevokedToken {
+    public static final String TOKEN_PREFIX = "jti:";
+    public static final String USER_PREFIX = "user:";
+
+    @Id
+    private String id;
+    private String tokenId;
+    private String userEmail;
+    private Instant notBefore;
+    @Indexed
+    private Instant createdAt;
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+
+    public RevokedToken() {}
+
+    public static RevokedToken forToken(String tokenId, Instant expiresAt) {
+        RevokedToken revoked = new RevokedToken();
+        revoked.id = TOKEN_PREFIX + tokenId;
+        revoked.tokenId = tokenId;
+        revoked.createdAt = Instant.now();
+        revoked.expiresAt = expiresAt;
+        return revoked;
+    }
+
+    public static RevokedToken forUser(String userEmail, Instant notBefore, Instant expiresAt) {
+        RevokedToken revoked = new RevokedToken();
+        revoked.id = USER_PREFIX + userEmail;
+        revoked.userEmail = userEmail;
+        revoked.notBefore = notBefore;
+        revoked.createdAt = Instant.now();
+        revoked.expiresAt = expiresAt;
+        return revoked;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getTokenId() { return tokenId; }
+    public void setTokenId(String tokenId) { this.tokenId = tokenId; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public Instant getNotBefore() { return notBefore; }
+    public void setNotBefore(Instant notBefore) { this.notBefore = notBefore; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -6,6 +6,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
@@ -38,6 +40,14 @@ public class User {
 
     private Set<String> enrolledCourses = new HashSet<>();
 
+    // Bumped whenever name or profile photo change; comments carry the version they were copied from
+    private long profileVersion;
+
+    private Instant createdAt;
+
+    // Set when the account is deleted; the USER_DELETE task purges everything and then the document
+    private LocalDateTime deletedAt;
+
     // Default constructor
     public User() {}
 
@@ -149,6 +159,30 @@ public class User {
         this.roles = roles;
     }
 
+    public long getProfileVersion() {
+        return profileVersion;
+    }
+
+    public void setProfileVersion(long profileVersion) {
+        this.profileVersion = profileVersion;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     public Set<String> getEnrolledCourses() {
         return enrolledCourses;
     }
@@ -0,0 +1,10 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonProgressDay;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface LessonProgressDayRepository extends MongoRepository<LessonProgressDay, String> {
+    List<LessonProgressDay> findByUserEmailAndCourseIdOrderByDayAsc(String userEmail, String courseId);
+}
@@ -0,0 +1,10 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonProgressEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface LessonProgressEventRepository extends MongoRepository<LessonProgressEvent, String> {
+    List<LessonProgressEvent> findByUserEmailAndCourseIdOrderByAtAsc(String userEmail, String courseId);
+}
@@ -0,0 +1,10 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonTime;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface LessonTimeRepository extends MongoRepository<LessonTime, String> {
+    List<LessonTime> findByUserEmailAndCourseId(String userEmail, String courseId);
+}
@@ -3,9 +3,12 @@ package dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends MongoRepository<Post, String> {
-    List<Post> findByUserEmail(String userEmail);
-    List<Post> findAllByOrderByCreatedAtDesc();
+    // Deleted posts keep a deletedAt tombstone until the cascade delete removes them
+    List<Post> findByUserEmailAndDeletedAtIsNull(String userEmail);
+    List<Post> findAllByDeletedAtIsNullOrderByCreatedAtDesc();
+    Optional<Post> findByIdAndDeletedAtIsNull(String id);
     // Additional query methods if needed
 }
@@ -2,10 +2,24 @@ package dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository;
 
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
+
+    // Display fields only: skips photos and enrolled course ids
+    @Query(value = "{ 'email': { $in: ?0 } }", fields = "{ 'name': 1, 'username': 1, 'email': 1 }")
+    List<User> findSummariesByEmailIn(Collection<String> emails);
+
+    // What request authentication needs, nothing else (see UserDetailsCache)
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'name': 1, 'email': 1, 'roles': 1, 'deletedAt': 1 }")
+    Optional<User> findSecurityProfileByEmail(String email);
+
+    List<User> findByDeletedAtIsNull();
 }
@@ -1,23 +1,42 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.security;
 
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.UserSearchIndex;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.stereotype.Service;
-import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.UserRepository;
 
-import java.util.Collections;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
+// Finds or creates the local user for an OAuth2 login in one findAndModify upsert: new
+// accounts get their defaults through $setOnInsert, existing ones are only read. Two
+// concurrent first logins collide on the unique email index and the loser simply re-reads.
 @Service
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
+    private static final int UPSERT_ATTEMPTS = 3;
 
-    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final UserSearchIndex userSearchIndex;
+    private final UserDetailsCache userDetailsCache;
 
-    public CustomOAuth2UserService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomOAuth2UserService(MongoTemplate mongoTemplate, UserSearchIndex userSearchIndex,
+                                   UserDetailsCache userDetailsCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.userSearchIndex = userSearchIndex;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -28,18 +47,49 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         Map<String, Object> attributes = oAuth2User.getAttributes();
         String email = (String) attributes.get("email");
         String name = (String) attributes.get("name");
-        
-        // Find or create user
-        User user = userRepository.findByEmail(email)
-            .orElseGet(() -> {
-                User newUser = new User();
-                newUser.setEmail(email);
-                newUser.setName(name);
-                newUser.setRoles(Collections.singletonList("ROLE_USER"));
-                return userRepository.save(newUser);
-            });
-            
+        if (email == null || email.isBlank()) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("missing_email"), "The provider did not share an email");
+        }
+
+        User user = findOrCreate(email, name);
+        if (user.getDeletedAt() != null) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("account_deleted"), "This account is being deleted");
+        }
+
+        // The success handler mints the token from this principal; later requests that still
+        // need a lookup (refresh, older tokens) find it in the cache
+        userDetailsCache.prime(new CustomUserDetails(user));
+
         // Return CustomUserDetails with OAuth2 attributes
         return new CustomUserDetails(user, attributes);
     }
-}
\ No newline at end of file
+
+    private User findOrCreate(String email, String name) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Query query = new Query(Criteria.where("email").is(email));
+        query.fields().exclude("profilePhotoBase64", "coverPhotoBase64", "password", "enrolledCourses");
+        Update defaults = new Update()
+                .setOnInsert("name", name)
+                .setOnInsert("roles", List.of("ROLE_USER"))
+                .setOnInsert("enrolledCourses", new HashSet<String>())
+                .setOnInsert("profileVersion", 0L)
+                .setOnInsert("createdAt", now);
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                User user = mongoTemplate.findAndModify(query, defaults, options, User.class);
+                if (now.equals(user.getCreatedAt())) {
+                    // Created by this login
+                    userSearchIndex.put(user);
+                }
+                return user;
+            } catch (DuplicateKeyException e) {
+                // A concurrent first login inserted the user between our match and insert
+                if (attempt == UPSERT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -32,7 +33,7 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
+        return getRoles().stream()
                    .map(SimpleGrantedAuthority::new)
                    .collect(Collectors.toList());
     }
@@ -51,4 +52,5 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
 
     // Optionally expose extra getters
     public String getId() { return user.getId(); }
+    public List<String> getRoles() { return user.getRoles() == null ? List.of() : user.getRoles(); }
 }
\ No newline at end of file
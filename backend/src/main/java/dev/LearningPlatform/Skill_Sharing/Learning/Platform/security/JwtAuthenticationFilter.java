@@ -4,9 +4,9 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,14 +18,19 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 
+// Authenticates bearer tokens from their claims alone; the only lookup on the happy path is
+// the in-memory TokenDenylist. Tokens issued before claims were added (no uid claim) still
+// fall back to UserDetailsCache until they expire.
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenDenylist tokenDenylist;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService uds) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsCache userDetailsCache, TokenDenylist tokenDenylist) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = uds;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenDenylist = tokenDenylist;
     }
 
     @Override
@@ -47,11 +52,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.debug("JWT token found, length: {}", token.length());
             
             try {
-                String username = jwtUtil.validateAndGetUsername(token);
+                Claims claims = jwtUtil.validate(token);
+                String username = claims.getSubject();
                 logger.debug("Token validated, username: {}", username);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                logger.debug("User details loaded for: {}", username);
+
+                if (tokenDenylist.isRevoked(claims)) {
+                    throw new JwtException("Token has been revoked");
+                }
+
+                UserDetails userDetails = jwtUtil.toUserDetails(claims);
+                if (userDetails == null) {
+                    userDetails = userDetailsCache.load(username);
+                    logger.debug("User details loaded for: {}", username);
+                }
                 
                 var auth = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
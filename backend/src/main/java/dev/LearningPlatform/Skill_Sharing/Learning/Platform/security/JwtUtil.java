@@ -1,29 +1,73 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+// Issues and validates access tokens. The signing key and parser are built once; tokens
+// that passed verification are remembered by SHA-256 until their own exp, so a client
+// repeating the same bearer token skips signature checks and JSON parsing. Revocation is
+// checked separately on every request (TokenDenylist), so caching never extends a token.
 @Component
 public class JwtUtil {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+    // The one token format: subject is the email, plus these claims and a jti for revocation
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    // iat is in whole seconds; revocation cutoffs need the issue time to the millisecond
+    public static final String ISSUED_AT_MS_CLAIM = "iat_ms";
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final long expirationMs;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, Claims> validated;
 
-    @Value("${jwt.expiration-ms}")
-    private long expirationMs;
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration-ms}") long expirationMs,
+                   @Value("${security.token-cache.max-size:10000}") long cacheMaxSize,
+                   MeterRegistry meterRegistry) {
+        this.expirationMs = expirationMs;
+        this.signingKey = buildSigningKey(secretKey);
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.validated = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, validated, "validatedTokens");
+    }
 
     // Build a secure HS256 key (must be ≥256 bits)
-    private Key getSigningKey() {
+    private static Key buildSigningKey(String secretKey) {
         try {
             byte[] keyBytes = Decoders.BASE64.decode(secretKey);
             return Keys.hmacShaKeyFor(keyBytes);
@@ -33,39 +77,75 @@ public class JwtUtil {
         }
     }
 
-    public String generateToken(String username) {
+    public String generateToken(String userId, String email, Collection<String> roles) {
         try {
             Date now = new Date();
             Date expiry = new Date(now.getTime() + expirationMs);
 
             String token = Jwts.builder()
-                       .setSubject(username)
+                       .setId(UUID.randomUUID().toString())
+                       .setSubject(email)
+                       .claim(USER_ID_CLAIM, userId)
+                       .claim(ROLES_CLAIM, roles == null ? List.of() : List.copyOf(roles))
                        .setIssuedAt(now)
+                       .claim(ISSUED_AT_MS_CLAIM, now.getTime())
                        .setExpiration(expiry)
-                       .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                       .signWith(signingKey, SignatureAlgorithm.HS256)
                        .compact();
-            
-            logger.debug("Generated token for user: {}, expires: {}", username, expiry);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Generated token for user: {}, expires: {}", email, expiry);
+            }
             return token;
         } catch (Exception e) {
-            logger.error("Error generating token for user {}: {}", username, e.getMessage());
+            logger.error("Error generating token for user {}: {}", email, e.getMessage());
             throw e;
         }
     }
 
+    public String generateToken(CustomUserDetails userDetails) {
+        return generateToken(userDetails.getId(), userDetails.getUsername(), userDetails.getRoles());
+    }
+
+    // Null for tokens without the uid claim, which have to be resolved against the database
+    public CustomUserDetails toUserDetails(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        if (userId == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(claims.getSubject());
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        user.setRoles(roles == null ? List.of() : roles.stream().map(String::valueOf).toList());
+        return new CustomUserDetails(user);
+    }
+
     public String validateAndGetUsername(String token) {
+        return validate(token).getSubject();
+    }
+
+    public Claims validate(String token) {
+        ByteBuffer key = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        Claims cached = validated.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parse(token);
+        if (claims.getExpiration() != null) {
+            validated.put(key, claims);
+        }
+        return claims;
+    }
+
+    private Claims parse(String token) {
         try {
-            logger.debug("Validating token...");
-            Jws<Claims> claims = Jwts.parserBuilder()
-                                     .setSigningKey(getSigningKey())
-                                     .build()
-                                     .parseClaimsJws(token);
-            
-            String username = claims.getBody().getSubject();
-            Date expiration = claims.getBody().getExpiration();
-            
-            logger.debug("Token validated successfully for user: {}, expires: {}", username, expiration);
-            return username;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Token validated successfully for user: {}, expires: {}",
+                        claims.getSubject(), claims.getExpiration());
+            }
+            return claims;
         } catch (ExpiredJwtException e) {
             logger.error("Token expired: {}", e.getMessage());
             throw new JwtException("Token has expired", e);
@@ -80,4 +160,23 @@ public class JwtUtil {
             throw new JwtException("Invalid or expired JWT token", e);
         }
     }
+
+    // Each entry lives until its token's exp claim; reads and updates do not extend it
+    private static class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
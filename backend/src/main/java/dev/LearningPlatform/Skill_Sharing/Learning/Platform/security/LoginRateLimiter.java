@@ -0,0 +1,69 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Per-account token bucket for password logins: each attempt takes a token, and tokens
+// come back at a fixed rate. Idle buckets are full by definition, so they are dropped
+// once they would have refilled and the map only holds recently attacked accounts.
+@Component
+public class LoginRateLimiter {
+    private final Cache<String, Bucket> buckets;
+    private final int capacity;
+    private final long refillNanos;
+    private final Counter limited;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${security.login-limit.capacity:5}") int capacity,
+                            @Value("${security.login-limit.refill-seconds:12}") long refillSeconds,
+                            @Value("${security.login-limit.max-accounts:100000}") long maxAccounts) {
+        this.capacity = capacity;
+        this.refillNanos = Duration.ofSeconds(refillSeconds).toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxAccounts)
+                .expireAfterAccess(Duration.ofNanos(refillNanos * capacity))
+                .build();
+        this.limited = Counter.builder("security.login.rate_limited").register(meterRegistry);
+    }
+
+    // Returns 0 when the attempt may proceed, otherwise the seconds until the next token
+    public long tryAcquire(String email) {
+        if (email == null) {
+            return 0;
+        }
+        Bucket bucket = buckets.get(email.trim().toLowerCase(Locale.ROOT), key -> new Bucket(capacity));
+        long waitNanos = bucket.tryTake(capacity, refillNanos);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        limited.increment();
+        return (waitNanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long updatedAt = System.nanoTime();
+
+        Bucket(int capacity) {
+            this.tokens = capacity;
+        }
+
+        synchronized long tryTake(int capacity, long refillNanos) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - updatedAt) / refillNanos);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) ((1 - tokens) * refillNanos);
+        }
+    }
+}
@@ -18,13 +18,15 @@ import java.util.Map;
 public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
     private final ObjectMapper objectMapper;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
 
-    public OAuth2LoginSuccessHandler(JwtUtil jwtUtil, ObjectMapper objectMapper) {
+    public OAuth2LoginSuccessHandler(JwtUtil jwtUtil, RefreshTokenService refreshTokenService, ObjectMapper objectMapper) {
         this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
         this.objectMapper = objectMapper;
     }
 
@@ -32,7 +34,8 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                       Authentication authentication) throws IOException, ServletException {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        String token = jwtUtil.generateToken(userDetails.getUsername());
+        String token = jwtUtil.generateToken(userDetails);
+        String refreshToken = refreshTokenService.issue(userDetails.getUsername());
 
         // Create user data map
         Map<String, Object> userData = new HashMap<>();
@@ -45,8 +48,8 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
         String encodedUserData = URLEncoder.encode(userDataJson, StandardCharsets.UTF_8);
 
         // Create the redirect URL with both token and user data
-        String redirectUrl = String.format("%s/oauth2/callback?token=%s&userData=%s",
-                frontendUrl, token, encodedUserData);
+        String redirectUrl = String.format("%s/oauth2/callback?token=%s&refreshToken=%s&userData=%s",
+                frontendUrl, token, refreshToken, encodedUserData);
 
         // Set CORS headers
         response.setHeader("Access-Control-Allow-Origin", frontendUrl);
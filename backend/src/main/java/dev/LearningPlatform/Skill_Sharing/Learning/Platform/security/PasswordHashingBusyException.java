@@ -0,0 +1,11 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Too many sign-ins in progress, please retry shortly");
+    }
+}
@@ -0,0 +1,141 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.security;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.RefreshToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// Opaque, rotating refresh tokens. Renewing an access token costs one conditional update
+// and a cached user lookup instead of a BCrypt check. Sessions slide: each rotation gets a
+// fresh idle window, capped by the family's maximum lifetime. Presenting a token that was
+// already rotated means it leaked, so the whole family and the user's access tokens are revoked.
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final MongoTemplate mongoTemplate;
+    private final JwtUtil jwtUtil;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenDenylist tokenDenylist;
+    private final Duration idleTtl;
+    private final Duration maxLifetime;
+
+    public RefreshTokenService(MongoTemplate mongoTemplate, JwtUtil jwtUtil, UserDetailsCache userDetailsCache,
+                               TokenDenylist tokenDenylist,
+                               @Value("${security.refresh.idle-ttl-days:14}") long idleTtlDays,
+                               @Value("${security.refresh.max-lifetime-days:60}") long maxLifetimeDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.jwtUtil = jwtUtil;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenDenylist = tokenDenylist;
+        this.idleTtl = Duration.ofDays(idleTtlDays);
+        this.maxLifetime = Duration.ofDays(maxLifetimeDays);
+    }
+
+    public static class Tokens {
+        private final String accessToken;
+        private final String refreshToken;
+
+        public Tokens(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        public String getAccessToken() { return accessToken; }
+        public String getRefreshToken() { return refreshToken; }
+    }
+
+    // Starts a new family for a fresh login
+    public String issue(String userEmail) {
+        Instant now = Instant.now();
+        return store(UUID.randomUUID().toString(), userEmail, now, now);
+    }
+
+    public Tokens refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentialsException("Missing refresh token");
+        }
+        String id = hash(refreshToken);
+        Instant now = Instant.now();
+        Query current = new Query(Criteria.where("id").is(id).and("rotatedAt").is(null).and("expiresAt").gt(now));
+        RefreshToken used = mongoTemplate.findAndModify(current, new Update().set("rotatedAt", now),
+                FindAndModifyOptions.options().returnNew(false), RefreshToken.class);
+        if (used == null) {
+            RefreshToken known = mongoTemplate.findById(id, RefreshToken.class);
+            if (known != null && known.getRotatedAt() != null) {
+                logger.warn("Rotated refresh token replayed for {}, revoking its session", known.getUserEmail());
+                revokeFamily(known.getFamilyId());
+                tokenDenylist.revokeAllFor(known.getUserEmail());
+            }
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+
+        CustomUserDetails user;
+        try {
+            user = userDetailsCache.load(used.getUserEmail());
+        } catch (UsernameNotFoundException e) {
+            revokeFamily(used.getFamilyId());
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+        String next = store(used.getFamilyId(), used.getUserEmail(), used.getFamilyCreatedAt(), now);
+        return new Tokens(jwtUtil.generateToken(user), next);
+    }
+
+    public void revoke(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        RefreshToken known = mongoTemplate.findById(hash(refreshToken), RefreshToken.class);
+        if (known != null) {
+            revokeFamily(known.getFamilyId());
+        }
+    }
+
+    public void revokeAllFor(String userEmail) {
+        mongoTemplate.remove(new Query(Criteria.where("userEmail").is(userEmail)), RefreshToken.class);
+    }
+
+    private void revokeFamily(String familyId) {
+        mongoTemplate.remove(new Query(Criteria.where("familyId").is(familyId)), RefreshToken.class);
+    }
+
+    private String store(String familyId, String userEmail, Instant familyCreatedAt, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant idleExpiry = now.plus(idleTtl);
+        Instant hardExpiry = familyCreatedAt.plus(maxLifetime);
+        Instant expiresAt = idleExpiry.isBefore(hardExpiry) ? idleExpiry : hardExpiry;
+        mongoTemplate.insert(new RefreshToken(hash(token), familyId, userEmail, familyCreatedAt, expiresAt));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
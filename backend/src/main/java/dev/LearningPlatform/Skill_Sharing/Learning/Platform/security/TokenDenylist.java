@@ -0,0 +1,122 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.security;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.RevokedToken;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked access tokens, checked by the JWT filter without touching the database.
+// Revocations are written to the revokedTokens collection (TTL-indexed on expiresAt) and
+// applied locally at once; other instances pick them up on the next sync, which only
+// reads documents created since the previous one. Expired entries are pruned in memory.
+@Component
+public class TokenDenylist {
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+    // Re-read a little history on every sync so clock skew between instances cannot hide a revocation
+    private static final long SYNC_OVERLAP_MS = 60_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // email -> {notBefore, expiresAt} in epoch millis
+    private final ConcurrentHashMap<String, long[]> userCutoffs = new ConcurrentHashMap<>();
+    private volatile Instant syncedUpTo;
+
+    @Value("${jwt.expiration-ms}")
+    private long expirationMs;
+
+    public TokenDenylist(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId != null && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        long[] cutoff = claims.getSubject() == null ? null : userCutoffs.get(claims.getSubject());
+        if (cutoff == null) {
+            return false;
+        }
+        Number issuedAtMs = claims.get(JwtUtil.ISSUED_AT_MS_CLAIM, Number.class);
+        if (issuedAtMs != null) {
+            return issuedAtMs.longValue() < cutoff[0];
+        }
+        // Tokens from before the millisecond claim only have iat in whole seconds, so the cutoff is
+        // truncated too; otherwise a login later in the same second would be rejected at once
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() < cutoff[0] / 1000 * 1000;
+    }
+
+    public void revokeToken(String tokenId, Date expiresAt) {
+        Instant expiry = expiresAt.toInstant();
+        revokedTokens.put(tokenId, expiry.toEpochMilli());
+        mongoTemplate.save(RevokedToken.forToken(tokenId, expiry));
+    }
+
+    // Every token issued to this email so far stops working; tokens issued afterwards are unaffected
+    public void revokeAllFor(String email) {
+        Instant now = Instant.now();
+        Instant expiry = now.plusMillis(expirationMs);
+        applyCutoff(email, now.toEpochMilli(), expiry.toEpochMilli());
+        mongoTemplate.save(RevokedToken.forUser(email, now, expiry));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        sync();
+    }
+
+    @Scheduled(initialDelayString = "${security.revocation.sync-interval-ms:5000}",
+               fixedDelayString = "${security.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        Instant started = Instant.now();
+        Instant since = syncedUpTo;
+        try {
+            Query query = new Query(Criteria.where("expiresAt").gt(started));
+            if (since != null) {
+                query.addCriteria(Criteria.where("createdAt").gte(since.minusMillis(SYNC_OVERLAP_MS)));
+            }
+            List<RevokedToken> entries = mongoTemplate.find(query, RevokedToken.class);
+            for (RevokedToken entry : entries) {
+                long expiry = entry.getExpiresAt().toEpochMilli();
+                if (entry.getTokenId() != null) {
+                    revokedTokens.put(entry.getTokenId(), expiry);
+                } else if (entry.getUserEmail() != null && entry.getNotBefore() != null) {
+                    applyCutoff(entry.getUserEmail(), entry.getNotBefore().toEpochMilli(), expiry);
+                }
+            }
+            syncedUpTo = started;
+            if (since == null) {
+                logger.info("Loaded {} token revocations", entries.size());
+            }
+        } catch (Exception e) {
+            logger.error("Token revocation sync failed, keeping {} entries: {}", revokedTokens.size(), e.getMessage());
+        }
+        prune(started.toEpochMilli());
+    }
+
+    private void applyCutoff(String email, long notBefore, long expiry) {
+        userCutoffs.merge(email, new long[]{notBefore, expiry},
+                (current, added) -> new long[]{Math.max(current[0], added[0]), Math.max(current[1], added[1])});
+    }
+
+    private void prune(long now) {
+        revokedTokens.values().removeIf(expiry -> expiry <= now);
+        userCutoffs.values().removeIf(cutoff -> cutoff[1] <= now);
+    }
+}
@@ -0,0 +1,59 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Bounded, TTL-based cache of the security view of a user (id, email, name, roles) for the
+// JWT filter. Entries never hold the password hash or photos. UserService invalidates an
+// email whenever that user changes; the TTL bounds staleness for any other writer.
+@Component
+public class UserDetailsCache {
+    private final UserRepository userRepository;
+    private final Cache<String, CustomUserDetails> cache;
+
+    public UserDetailsCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                            @Value("${security.user-cache.max-size:10000}") long maxSize,
+                            @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+        meterRegistry.gauge("security.user_cache.hit_rate", cache, c -> c.stats().hitRate());
+    }
+
+    // Unknown and deleted users are not cached, so a newly registered user is visible immediately
+    public CustomUserDetails load(String email) {
+        CustomUserDetails details = cache.get(email, key -> userRepository.findSecurityProfileByEmail(key)
+                .filter(user -> user.getDeletedAt() == null)
+                .map(CustomUserDetails::new)
+                .orElse(null));
+        if (details == null) {
+            throw new UsernameNotFoundException("User not found: " + email);
+        }
+        return details;
+    }
+
+    // For callers that already hold a freshly loaded user, e.g. right after an OAuth2 login
+    public void prime(CustomUserDetails details) {
+        if (details.getUsername() != null) {
+            cache.put(details.getUsername(), details);
+        }
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+}
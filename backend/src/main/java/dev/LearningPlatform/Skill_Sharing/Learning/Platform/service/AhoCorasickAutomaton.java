@@ -0,0 +1,169 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Immutable, case-insensitive multi-term matcher. Characters that occur in any term are
+// mapped to a dense alphabet and the failure links are folded into a full transition
+// table, so a scan is one array lookup per input character regardless of term count.
+// Matches only count on word boundaries ("ass" does not match "class"). Terms and text are
+// both folded to compatibility form without accents first, so fullwidth or accented
+// spellings of a term still match.
+final class AhoCorasickAutomaton {
+    private static final int NONE = -1;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final String[] terms;
+    private final short[] charClass;
+    private final int alphabet;
+    // next[state * alphabet + class] -> state; row 0 is the root
+    private final int[] next;
+    // Index into terms for states that end a term, NONE otherwise
+    private final int[] termOf;
+    // Nearest proper suffix state that ends a term, NONE if there is none
+    private final int[] output;
+
+    private AhoCorasickAutomaton(String[] terms, short[] charClass, int alphabet, int[] next, int[] termOf, int[] output) {
+        this.terms = terms;
+        this.charClass = charClass;
+        this.alphabet = alphabet;
+        this.next = next;
+        this.termOf = termOf;
+        this.output = output;
+    }
+
+    static AhoCorasickAutomaton compile(Collection<String> rawTerms) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String raw : rawTerms) {
+            if (raw != null && !raw.isBlank()) {
+                // Folded and lower-cased per char, exactly as the scan does, so term lengths line up with the text
+                char[] chars = fold(raw.trim()).toCharArray();
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = lower(chars[i]);
+                }
+                if (chars.length > 0) {
+                    unique.add(new String(chars));
+                }
+            }
+        }
+        String[] terms = unique.toArray(new String[0]);
+
+        short[] charClass = new short[Character.MAX_VALUE + 1];
+        int alphabet = 1; // class 0: characters that appear in no term
+        int maxStates = 1;
+        for (String term : terms) {
+            maxStates += term.length();
+            for (int i = 0; i < term.length(); i++) {
+                char c = lower(term.charAt(i));
+                if (charClass[c] == 0) {
+                    if (alphabet == Short.MAX_VALUE) {
+                        throw new IllegalArgumentException("Too many distinct characters in banned terms");
+                    }
+                    charClass[c] = (short) alphabet++;
+                }
+            }
+        }
+        if ((long) maxStates * alphabet > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Banned term list is too large to compile");
+        }
+
+        // Trie; 0 doubles as "no edge" because the root is never a child
+        int[] next = new int[maxStates * alphabet];
+        int[] termOf = new int[maxStates];
+        Arrays.fill(termOf, NONE);
+        int states = 1;
+        for (int t = 0; t < terms.length; t++) {
+            int state = 0;
+            String term = terms[t];
+            for (int i = 0; i < term.length(); i++) {
+                int slot = state * alphabet + charClass[lower(term.charAt(i))];
+                if (next[slot] == 0) {
+                    next[slot] = states++;
+                }
+                state = next[slot];
+            }
+            termOf[state] = t;
+        }
+
+        // Breadth-first: failure links, output links, and missing edges copied from the failure state
+        int[] fail = new int[states];
+        int[] output = new int[states];
+        Arrays.fill(output, NONE);
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < alphabet; c++) {
+            if (next[c] != 0) {
+                queue[tail++] = next[c];
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int f = fail[state];
+            output[state] = termOf[f] != NONE ? f : output[f];
+            for (int c = 0; c < alphabet; c++) {
+                int slot = state * alphabet + c;
+                if (next[slot] != 0) {
+                    fail[next[slot]] = next[f * alphabet + c];
+                    queue[tail++] = next[slot];
+                } else {
+                    next[slot] = next[f * alphabet + c];
+                }
+            }
+        }
+        return new AhoCorasickAutomaton(terms, charClass, alphabet,
+                Arrays.copyOf(next, states * alphabet), Arrays.copyOf(termOf, states), output);
+    }
+
+    int size() {
+        return terms.length;
+    }
+
+    // Distinct terms found in the text, at most limit of them, in order of first occurrence
+    List<String> findMatches(String text, int limit) {
+        List<String> matches = new ArrayList<>();
+        if (text == null || terms.length == 0) {
+            return matches;
+        }
+        text = fold(text);
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next[state * alphabet + charClass[lower(text.charAt(i))]];
+            for (int s = termOf[state] != NONE ? state : output[state]; s != NONE; s = output[s]) {
+                String term = terms[termOf[s]];
+                if (isWordBoundary(text, i - term.length() + 1, i) && !matches.contains(term)) {
+                    matches.add(term);
+                    if (matches.size() >= limit) {
+                        return matches;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean isWordBoundary(String text, int start, int end) {
+        return (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                && (end + 1 == text.length() || !Character.isLetterOrDigit(text.charAt(end + 1)));
+    }
+
+    // Plain ASCII, the common case, is returned as is without allocating
+    private static String fold(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+            }
+        }
+        return text;
+    }
+
+    private static char lower(char c) {
+        return Character.toLowerCase(c);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
+
+// A background task type. Each call does one bounded step of work and returns true once
+// the task is finished; progress that must survive a restart goes into the checkpoint.
+public interface BackgroundTaskHandler {
+
+    String type();
+
+    boolean step(BackgroundTask task, BackgroundTaskQueue queue);
+}
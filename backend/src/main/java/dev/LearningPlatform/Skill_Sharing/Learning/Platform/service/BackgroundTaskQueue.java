@@ -0,0 +1,124 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Mongo-backed task queue shared by all background jobs. Tasks are deduplicated by key,
+// claimed with a lease and only the current lease holder (owner + generation) may save
+// a checkpoint or mark the task done.
+@Service
+public class BackgroundTaskQueue {
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${tasks.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${tasks.max-attempts:10}")
+    private int maxAttempts;
+
+    public BackgroundTaskQueue(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // Creates the task or re-arms an existing one with the same key, restarting it from scratch
+    public void enqueue(String type, String key, Map<String, String> params) {
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set("type", type)
+                .set("params", params)
+                .set("checkpoint", new HashMap<String, String>())
+                .set("status", BackgroundTask.PENDING)
+                .set("attempts", 0)
+                .set("availableAt", now)
+                .set("updatedAt", now)
+                .unset("owner")
+                .unset("lastError")
+                .unset("completedAt")
+                .inc("generation", 1)
+                .setOnInsert("createdAt", now);
+        mongoTemplate.upsert(new Query(Criteria.where("key").is(key)), update, BackgroundTask.class);
+    }
+
+    public BackgroundTask find(String key) {
+        return mongoTemplate.findOne(new Query(Criteria.where("key").is(key)), BackgroundTask.class);
+    }
+
+    public BackgroundTask claim() {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("status").is(BackgroundTask.PENDING).and("availableAt").lte(now))
+                .with(Sort.by("availableAt"));
+        Update update = new Update()
+                .set("owner", UUID.randomUUID().toString())
+                .set("availableAt", now.plusMillis(leaseMs))
+                .set("updatedAt", now)
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), BackgroundTask.class);
+    }
+
+    // Saves progress and extends the lease; false means the task was re-armed or taken over
+    public boolean checkpoint(BackgroundTask task, Map<String, String> checkpoint) {
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set("checkpoint", checkpoint)
+                .set("availableAt", now.plusMillis(leaseMs))
+                .set("updatedAt", now);
+        if (!updateOwned(task, update)) {
+            return false;
+        }
+        task.setCheckpoint(checkpoint);
+        return true;
+    }
+
+    public void complete(BackgroundTask task) {
+        Instant now = Instant.now();
+        updateOwned(task, new Update()
+                .set("status", BackgroundTask.DONE)
+                .set("completedAt", now)
+                .set("updatedAt", now)
+                .unset("owner"));
+    }
+
+    // Hands the task back after one step so other tasks get a turn; attempts count failures, not steps
+    public void release(BackgroundTask task, long delayMs) {
+        Instant now = Instant.now();
+        updateOwned(task, new Update()
+                .set("availableAt", now.plusMillis(delayMs))
+                .set("attempts", 0)
+                .set("updatedAt", now)
+                .unset("owner"));
+    }
+
+    public void fail(BackgroundTask task, String error) {
+        Instant now = Instant.now();
+        Update update = new Update().set("lastError", error).set("updatedAt", now).unset("owner");
+        if (task.getAttempts() >= maxAttempts) {
+            update.set("status", BackgroundTask.FAILED).set("completedAt", now);
+        } else {
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(task.getAttempts(), 20));
+            update.set("availableAt", now.plus(Duration.ofSeconds(backoff)));
+        }
+        updateOwned(task, update);
+    }
+
+    private boolean updateOwned(BackgroundTask task, Update update) {
+        Query owned = new Query(Criteria.where("id").is(task.getId())
+                .and("owner").is(task.getOwner())
+                .and("generation").is(task.getGeneration()));
+        return mongoTemplate.updateFirst(owned, update, BackgroundTask.class).getModifiedCount() > 0;
+    }
+}
@@ -0,0 +1,70 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Polls the task queue and runs one step of each claimed task per tick. Unfinished tasks
+// are released with tasks.step-delay-ms before they can be claimed again, which throttles
+// every job to a bounded amount of database work per second.
+@Component
+public class BackgroundTaskWorker {
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundTaskWorker.class);
+
+    private final BackgroundTaskQueue queue;
+    private final Map<String, BackgroundTaskHandler> handlers = new HashMap<>();
+
+    @Value("${tasks.max-per-tick:8}")
+    private int maxPerTick;
+
+    @Value("${tasks.step-delay-ms:200}")
+    private long stepDelayMs;
+
+    public BackgroundTaskWorker(BackgroundTaskQueue queue, List<BackgroundTaskHandler> handlers) {
+        this.queue = queue;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+    }
+
+    @Scheduled(initialDelayString = "${tasks.initial-delay-ms:10000}",
+               fixedDelayString = "${tasks.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            for (int i = 0; i < maxPerTick; i++) {
+                BackgroundTask task = queue.claim();
+                if (task == null) {
+                    return;
+                }
+                run(task);
+            }
+        } catch (Exception e) {
+            logger.error("Background task poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void run(BackgroundTask task) {
+        BackgroundTaskHandler handler = handlers.get(task.getType());
+        if (handler == null) {
+            queue.fail(task, "No handler for task type " + task.getType());
+            return;
+        }
+        try {
+            if (handler.step(task, queue)) {
+                queue.complete(task);
+                logger.info("Background task {} ({}) finished", task.getKey(), task.getType());
+            } else {
+                queue.release(task, stepDelayMs);
+            }
+        } catch (Exception e) {
+            logger.error("Background task {} ({}) failed on attempt {}: {}",
+                    task.getKey(), task.getType(), task.getAttempts(), e.getMessage());
+            queue.fail(task, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Repairs drift in Post.commentCount and Comment.replyCount (for example a crash between
+// saving a comment and its $inc, or documents written before the counters existed).
+// True counts are aggregated before and after reading the stored counters; a key is only
+// fixed if both aggregations agree, and the update is conditional on the stored value it
+// saw, so the job never overwrites a concurrent $inc.
+@Service
+public class CommentCounterReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(CommentCounterReconciler.class);
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public CommentCounterReconciler(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${comments.counters.reconcile-interval-ms:21600000}",
+               fixedDelayString = "${comments.counters.reconcile-interval-ms:21600000}")
+    public void reconcile() {
+        try {
+            int posts = reconcile(Post.class, "commentCount",
+                    () -> countBy(new Document(), "$postId"),
+                    Post::getId, Post::getCommentCount);
+            int comments = reconcile(Comment.class, "replyCount",
+                    () -> countBy(new Document("reply", true), "$replyTo"),
+                    Comment::getId, Comment::getReplyCount);
+            if (posts > 0 || comments > 0) {
+                logger.info("Repaired comment counters on {} posts and {} comments", posts, comments);
+            }
+        } catch (Exception e) {
+            logger.error("Comment counter reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private <T> int reconcile(Class<T> type, String field, Supplier<Map<String, Integer>> actualCounts,
+                              Function<T, String> id, Function<T, Integer> stored) {
+        Map<String, Integer> before = actualCounts.get();
+        Map<String, Integer> mismatched = new HashMap<>();
+        Query counters = new Query();
+        counters.fields().include(field);
+        try (Stream<T> stream = mongoTemplate.stream(counters, type)) {
+            stream.forEach(doc -> {
+                int observed = stored.apply(doc);
+                if (observed != before.getOrDefault(id.apply(doc), 0)) {
+                    mismatched.put(id.apply(doc), observed);
+                }
+            });
+        }
+        if (mismatched.isEmpty()) {
+            return 0;
+        }
+        Map<String, Integer> after = actualCounts.get();
+
+        int repaired = 0;
+        BulkOperations bulk = null;
+        int queued = 0;
+        for (Map.Entry<String, Integer> entry : mismatched.entrySet()) {
+            int actual = before.getOrDefault(entry.getKey(), 0);
+            if (actual != after.getOrDefault(entry.getKey(), 0)) {
+                continue;
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            }
+            Criteria unchanged = entry.getValue() == 0
+                    ? new Criteria().orOperator(Criteria.where(field).is(0), Criteria.where(field).exists(false))
+                    : Criteria.where(field).is(entry.getValue());
+            bulk.updateOne(new Query(Criteria.where("id").is(entry.getKey()).andOperator(unchanged)),
+                    new Update().set(field, actual));
+            if (++queued == BULK_CHUNK_SIZE) {
+                repaired += bulk.execute().getModifiedCount();
+                bulk = null;
+                queued = 0;
+            }
+        }
+        if (bulk != null) {
+            repaired += bulk.execute().getModifiedCount();
+        }
+        return repaired;
+    }
+
+    private Map<String, Integer> countBy(Document match, String key) {
+        List<Document> pipeline = List.of(
+                new Document("$match", match.append(key.substring(1), new Document("$ne", null))),
+                new Document("$group", new Document("_id", key).append("count", new Document("$sum", 1))));
+        Map<String, Integer> counts = new HashMap<>();
+        for (Document row : mongoTemplate.getCollection("comments").aggregate(pipeline)) {
+            counts.put(String.valueOf(row.get("_id")), ((Number) row.get("count")).intValue());
+        }
+        return counts;
+    }
+}
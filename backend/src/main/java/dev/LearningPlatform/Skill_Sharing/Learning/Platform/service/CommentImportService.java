@@ -0,0 +1,273 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk comment import from NDJSON, one comment per line. The body is read line by line and
+// written in unordered insert batches; a bad line only costs that line. Replies must come
+// after their parent in the file or reference a comment that already exists. Post and reply
+// counters are adjusted once per batch instead of once per comment.
+// Every comment gets an ObjectId id, which keyset paging and the deletion scans rely on.
+// Ids from other systems are kept as legacyId, and replyTo may name a parent on the same post by either id.
+@Service
+public class CommentImportService {
+    private static final Logger logger = LoggerFactory.getLogger(CommentImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ContentModerationService moderationService;
+
+    @Value("${comments.import.batch-size:500}")
+    private int batchSize;
+
+    public CommentImportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                ContentModerationService moderationService) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.moderationService = moderationService;
+    }
+
+    public Map<String, Object> importComments(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.pending.add(parse(line, run));
+                    run.pendingLines.add(lineNumber);
+                } catch (Exception e) {
+                    run.error(lineNumber, e.getMessage());
+                }
+                if (run.pending.size() >= batchSize) {
+                    flush(run);
+                }
+            }
+        }
+        flush(run);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("imported", run.imported);
+        result.put("failed", run.failed);
+        result.put("errors", run.errors);
+        logger.info("Comment import finished: {} imported, {} failed", run.imported, run.failed);
+        return result;
+    }
+
+    private Comment parse(String line, ImportRun run) throws IOException {
+        Comment comment = objectMapper.readValue(line, Comment.class);
+        if (isBlank(comment.getPostId()) || isBlank(comment.getContent()) || isBlank(comment.getUserEmail())) {
+            throw new IllegalArgumentException("postId, content and userEmail are required");
+        }
+        if (!run.postExists(comment.getPostId())) {
+            throw new IllegalArgumentException("Unknown post " + comment.getPostId());
+        }
+        if (comment.getReplyTo() != null) {
+            String parentId = run.resolveComment(comment.getReplyTo());
+            if (parentId == null) {
+                throw new IllegalArgumentException("Unknown parent comment " + comment.getReplyTo());
+            }
+            // A reply lives on its parent's post
+            if (!comment.getPostId().equals(run.knownComments.get(parentId))) {
+                throw new IllegalArgumentException("Parent comment " + comment.getReplyTo()
+                        + " is not on post " + comment.getPostId());
+            }
+            comment.setReplyTo(parentId);
+        }
+        moderationService.check("comment", comment.getContent());
+
+        String sourceId = comment.getId();
+        comment.setLegacyId(null);
+        if (sourceId == null) {
+            comment.setId(new ObjectId().toHexString());
+        } else if (ObjectId.isValid(sourceId)) {
+            if (run.knownComments.putIfAbsent(sourceId, comment.getPostId()) != null) {
+                throw new IllegalArgumentException("Duplicate comment id " + sourceId);
+            }
+        } else {
+            if (run.resolveComment(sourceId) != null) {
+                throw new IllegalArgumentException("Duplicate comment id " + sourceId);
+            }
+            comment.setId(new ObjectId().toHexString());
+            comment.setLegacyId(sourceId);
+            run.legacyIds.put(sourceId, comment.getId());
+        }
+        run.knownComments.put(comment.getId(), comment.getPostId());
+        comment.setReply(comment.getReplyTo() != null);
+        // Reactions are not imported, so neither are their counters
+        comment.setReplyCount(0);
+        comment.setLikes(0);
+        comment.setDislikes(0);
+        comment.setAuthorVersion(0);
+        comment.setLikedBy(null);
+        comment.setDislikedBy(null);
+        comment.setReactionOverflow(false);
+        if (comment.getCreatedAt() == null) {
+            comment.setCreatedAt(Instant.now());
+        }
+        comment.setUpdatedAt(comment.getCreatedAt());
+        return comment;
+    }
+
+    private void flush(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<Comment> batch = run.pending;
+        List<Integer> lines = run.pendingLines;
+        run.pending = new ArrayList<>();
+        run.pendingLines = new ArrayList<>();
+
+        Set<Integer> failedIndexes = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class).insert(batch).execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> {
+                failedIndexes.add(error.getIndex());
+                run.error(lines.get(error.getIndex()), error.getMessage());
+            });
+        } catch (Exception e) {
+            for (int i = 0; i < batch.size(); i++) {
+                failedIndexes.add(i);
+                run.error(lines.get(i), e.getMessage());
+            }
+        }
+
+        Map<String, Integer> postDeltas = new HashMap<>();
+        Map<String, Integer> replyDeltas = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Comment comment = batch.get(i);
+            if (failedIndexes.contains(i)) {
+                // Later lines must not reply to a comment that was never written. A duplicate id does
+                // exist, but maybe on another post, so it is looked up again like a duplicate legacy id.
+                if (comment.getLegacyId() != null) {
+                    run.legacyIds.remove(comment.getLegacyId());
+                    run.missingComments.remove(comment.getLegacyId());
+                }
+                run.knownComments.remove(comment.getId());
+                continue;
+            }
+            run.imported++;
+            postDeltas.merge(comment.getPostId(), 1, Integer::sum);
+            if (comment.isReply()) {
+                replyDeltas.merge(comment.getReplyTo(), 1, Integer::sum);
+            }
+        }
+        applyDeltas(Post.class, "commentCount", postDeltas);
+        applyDeltas(Comment.class, "replyCount", replyDeltas);
+    }
+
+    // A failure here only leaves drift for CommentCounterReconciler to repair
+    private void applyDeltas(Class<?> type, String field, Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            deltas.forEach((id, delta) -> bulk.updateOne(new Query(Criteria.where("id").is(id)), new Update().inc(field, delta)));
+            bulk.execute();
+        } catch (Exception e) {
+            logger.error("Could not update {} after comment import: {}", field, e.getMessage());
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // Per-request state: ids known to exist, so each parent and post is checked against the database at most once
+    private class ImportRun {
+        // Comment id -> the post it is on
+        final Map<String, String> knownComments = new HashMap<>();
+        final Set<String> missingComments = new HashSet<>();
+        final Map<String, String> legacyIds = new HashMap<>();
+        final Map<String, Boolean> posts = new HashMap<>();
+        final List<Map<String, Object>> errors = new ArrayList<>();
+        List<Comment> pending = new ArrayList<>();
+        List<Integer> pendingLines = new ArrayList<>();
+        int imported;
+        int failed;
+
+        boolean postExists(String postId) {
+            return posts.computeIfAbsent(postId, id -> mongoTemplate.exists(
+                    new Query(Criteria.where("id").is(id).and("deletedAt").is(null)), Post.class));
+        }
+
+        // The ObjectId id for a comment named by its id or its legacy id, or null if there is none
+        String resolveComment(String id) {
+            if (ObjectId.isValid(id)) {
+                return commentExists(id) ? id : null;
+            }
+            String resolved = legacyIds.get(id);
+            if (resolved == null && !missingComments.contains(id)) {
+                Query byLegacyId = new Query(Criteria.where("legacyId").is(id));
+                byLegacyId.fields().include("id", "postId");
+                Comment existing = mongoTemplate.findOne(byLegacyId, Comment.class);
+                if (existing != null) {
+                    resolved = existing.getId();
+                    legacyIds.put(id, resolved);
+                    knownComments.put(resolved, existing.getPostId());
+                } else {
+                    missingComments.add(id);
+                }
+            }
+            return resolved;
+        }
+
+        boolean commentExists(String commentId) {
+            if (knownComments.containsKey(commentId)) {
+                return true;
+            }
+            if (missingComments.contains(commentId)) {
+                return false;
+            }
+            Query byId = new Query(Criteria.where("id").is(commentId));
+            byId.fields().include("postId");
+            Comment existing = mongoTemplate.findOne(byId, Comment.class);
+            if (existing == null) {
+                missingComments.add(commentId);
+                return false;
+            }
+            knownComments.put(commentId, existing.getPostId());
+            return true;
+        }
+
+        void error(int line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(Map.of("line", line, "message", message == null ? "Invalid line" : message));
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.CommentChangedEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-process fan-out of comment changes to WebSocket subscribers of a post.
+// - Every connection has its own outbox bounded by comments.live.buffer-size-limit bytes;
+//   when a slow client's outbox is full its oldest frames are dropped, and nobody else's.
+// - Fan-out only appends to outboxes and never touches a socket, so it runs on the writer's
+//   thread. Each non-empty outbox is drained by one task on a small sender pool, and a
+//   send that stalls past the time limit fails and closes that connection alone.
+// - Like/dislike changes only mark the comment; once per interval each post gets one frame
+//   with the counts read at flush time, so the newest counts always win.
+@Service
+public class CommentLiveHub {
+    private static final Logger logger = LoggerFactory.getLogger(CommentLiveHub.class);
+    // Tomcat's per-session limit for a blocking send; ignored by other containers
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final ObjectMapper objectMapper;
+    private final MongoTemplate mongoTemplate;
+    private final long sendTimeLimitMs;
+    private final int bufferSizeLimit;
+    private final ThreadPoolExecutor senders;
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Only mutated inside compute and taken out with remove, so no id is added to a set already flushed
+    private final ConcurrentHashMap<String, Set<String>> pendingReactions = new ConcurrentHashMap<>();
+
+    public CommentLiveHub(ObjectMapper objectMapper, MongoTemplate mongoTemplate,
+                          @Value("${comments.live.send-time-limit-ms:5000}") long sendTimeLimitMs,
+                          @Value("${comments.live.buffer-size-limit:65536}") int bufferSizeLimit,
+                          @Value("${comments.live.send-threads:8}") int sendThreads) {
+        this.objectMapper = objectMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Unbounded queue, but it holds at most one drain task per connected session
+        this.senders = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "comment-live-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void subscribe(String postId, WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            Session standard = nativeSession.getNativeSession(Session.class);
+            if (standard != null) {
+                standard.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+            }
+        }
+        Subscriber subscriber = new Subscriber(postId, session);
+        subscribers.compute(postId, (key, sessions) -> {
+            Set<Subscriber> set = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+    }
+
+    public void unsubscribe(String postId, WebSocketSession session) {
+        subscribers.computeIfPresent(postId, (key, sessions) -> {
+            sessions.removeIf(s -> s.session.getId().equals(session.getId()));
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    // Runs on the writer's thread, so it only serializes and hands off; it must never throw
+    @EventListener
+    public void onCommentChanged(CommentChangedEvent event) {
+        Comment comment = event.getComment();
+        if (comment == null || comment.getPostId() == null || !subscribers.containsKey(comment.getPostId())) {
+            return;
+        }
+        String postId = comment.getPostId();
+        if (event.getType() == CommentChangedEvent.Type.REACTED) {
+            pendingReactions.compute(postId, (key, ids) -> {
+                Set<String> set = ids != null ? ids : new HashSet<>();
+                set.add(comment.getId());
+                return set;
+            });
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", "comment." + event.getType().name().toLowerCase());
+        payload.put("postId", postId);
+        if (event.getType() == CommentChangedEvent.Type.DELETED) {
+            payload.put("commentId", comment.getId());
+        } else {
+            payload.put("comment", comment);
+        }
+        broadcast(postId, payload);
+    }
+
+    @Scheduled(fixedDelayString = "${comments.live.reaction-interval-ms:500}")
+    public void flushReactions() {
+        for (String postId : pendingReactions.keySet()) {
+            Set<String> commentIds = pendingReactions.remove(postId);
+            if (commentIds == null || commentIds.isEmpty()) {
+                continue;
+            }
+            List<Comment> comments;
+            try {
+                Query query = new Query(Criteria.where("id").in(commentIds));
+                query.fields().include("likes", "dislikes");
+                comments = mongoTemplate.find(query, Comment.class);
+            } catch (Exception e) {
+                logger.error("Could not read reaction counts for post {}: {}", postId, e.getMessage());
+                continue;
+            }
+            if (comments.isEmpty()) {
+                continue;
+            }
+            List<Map<String, Object>> counts = new ArrayList<>(comments.size());
+            for (Comment current : comments) {
+                counts.add(Map.of("commentId", current.getId(),
+                        "likes", current.getLikes(), "dislikes", current.getDislikes()));
+            }
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("type", "comment.reactions");
+            payload.put("postId", postId);
+            payload.put("reactions", counts);
+            broadcast(postId, payload);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void broadcast(String postId, Map<String, Object> payload) {
+        Set<Subscriber> sessions = subscribers.get(postId);
+        if (sessions == null) {
+            return;
+        }
+        TextMessage message;
+        try {
+            message = new TextMessage(objectMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            logger.error("Could not serialize live comment update for post {}: {}", postId, e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : sessions) {
+            subscriber.offer(message);
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        logger.debug("Dropping live comment subscriber {} on post {}: {}",
+                subscriber.session.getId(), subscriber.postId, reason);
+        unsubscribe(subscriber.postId, subscriber.session);
+        try {
+            subscriber.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception ignored) {
+            // Already closed
+        }
+    }
+
+    // Only the single drain task of a session ever calls sendMessage on it
+    private final class Subscriber {
+        final String postId;
+        final WebSocketSession session;
+        private final ArrayDeque<TextMessage> outbox = new ArrayDeque<>();
+        private int bufferedBytes;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(String postId, WebSocketSession session) {
+            this.postId = postId;
+            this.session = session;
+        }
+
+        void offer(TextMessage message) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                outbox.addLast(message);
+                bufferedBytes += message.getPayloadLength();
+                // The newest frame is always kept, even if it alone exceeds the limit
+                while (bufferedBytes > bufferSizeLimit && outbox.size() > 1) {
+                    bufferedBytes -= outbox.removeFirst().getPayloadLength();
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                TextMessage next;
+                synchronized (this) {
+                    next = outbox.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                    bufferedBytes -= next.getPayloadLength();
+                }
+                try {
+                    if (!session.isOpen()) {
+                        throw new IllegalStateException("session closed");
+                    }
+                    session.sendMessage(next);
+                } catch (Exception e) {
+                    // Send time limit exceeded or broken connection
+                    synchronized (this) {
+                        closed = true;
+                        outbox.clear();
+                        bufferedBytes = 0;
+                    }
+                    drop(this, e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+}
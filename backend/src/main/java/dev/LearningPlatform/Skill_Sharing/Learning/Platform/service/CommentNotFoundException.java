@@ -0,0 +1,12 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class CommentNotFoundException extends RuntimeException {
+
+    public CommentNotFoundException(String commentId) {
+        super("Comment not found: " + commentId);
+    }
+}
@@ -0,0 +1,210 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.CommentReaction;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// One reaction per user per comment. Reacting users are interned to int ordinals and kept
+// in a sorted array on the comment (likedBy / dislikedBy). A like and a dislike from the
+// same user are exclusive: while the comment is inline, adding one is a single conditional
+// update pipeline that pulls the user from the opposite array, adds them to this one and
+// moves both counters. Once an array reaches comments.reactions.inline-limit the comment is
+// flagged reactionOverflow and further reactions are stored as CommentReaction documents.
+@Service
+public class CommentReactionService {
+
+    public enum Reaction {
+        LIKE("like", "likedBy", "likes"),
+        DISLIKE("dislike", "dislikedBy", "dislikes");
+
+        final String type;
+        final String members;
+        final String counter;
+
+        Reaction(String type, String members, String counter) {
+            this.type = type;
+            this.members = members;
+            this.counter = counter;
+        }
+
+        Reaction opposite() {
+            return this == LIKE ? DISLIKE : LIKE;
+        }
+
+        List<Integer> membersOf(Comment comment) {
+            List<Integer> users = this == LIKE ? comment.getLikedBy() : comment.getDislikedBy();
+            return users == null ? List.of() : users;
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final UserOrdinalService userOrdinalService;
+
+    @Value("${comments.reactions.inline-limit:1000}")
+    private int inlineLimit;
+
+    public CommentReactionService(MongoTemplate mongoTemplate, UserOrdinalService userOrdinalService) {
+        this.mongoTemplate = mongoTemplate;
+        this.userOrdinalService = userOrdinalService;
+    }
+
+    // Returns the comment after the reaction; reacting twice is a no-op
+    public Comment add(String commentId, String userEmail, Reaction reaction) {
+        int user = userOrdinalService.intern(userEmail);
+        Query inline = withoutMembers(new Query(Criteria.where("id").is(commentId)
+                .and("reactionOverflow").ne(true)
+                .and(reaction.members + "." + (inlineLimit - 1)).exists(false)));
+        Comment updated = mongoTemplate.findAndModify(inline, switchTo(reaction, user),
+                FindAndModifyOptions.options().returnNew(true), Comment.class);
+        if (updated != null) {
+            return updated;
+        }
+
+        // Missing comment, already overflowed, or no room left inline
+        Comment state = reactionState(commentId, user);
+        if (state == null) {
+            throw new CommentNotFoundException(commentId);
+        }
+        if (reaction.membersOf(state).contains(user)) {
+            return findComment(commentId);
+        }
+        // Flag first so no later reaction can go inline, then re-check the inline set under the flag
+        Query flag = new Query(Criteria.where("id").is(commentId));
+        flag.fields().elemMatch(reaction.members, Criteria.where("$eq").is(user));
+        state = mongoTemplate.findAndModify(flag, new Update().set("reactionOverflow", true),
+                FindAndModifyOptions.options().returnNew(true), Comment.class);
+        if (state == null) {
+            throw new CommentNotFoundException(commentId);
+        }
+        if (!reaction.membersOf(state).contains(user)) {
+            // Spans two collections, so exclusivity here is withdraw-then-insert rather than atomic
+            if (withdrawInline(commentId, user, reaction.opposite()) == null) {
+                withdrawOverflow(commentId, user, reaction.opposite());
+            }
+            try {
+                mongoTemplate.insert(new CommentReaction(commentId, reaction.type, user));
+                mongoTemplate.updateFirst(new Query(Criteria.where("id").is(commentId)),
+                        new Update().inc(reaction.counter, 1), Comment.class);
+            } catch (DuplicateKeyException e) {
+                // Already reacted through the overflow collection
+            }
+        }
+        return findComment(commentId);
+    }
+
+    public Comment remove(String commentId, String userEmail, Reaction reaction) {
+        Integer user = userOrdinalService.find(userEmail);
+        if (user != null) {
+            Comment updated = withdrawInline(commentId, user, reaction);
+            if (updated != null) {
+                return updated;
+            }
+        }
+        Comment comment = findComment(commentId);
+        if (comment == null) {
+            throw new CommentNotFoundException(commentId);
+        }
+        // The side collection is only consulted for comments that actually overflowed
+        if (user != null && comment.isReactionOverflow()) {
+            Comment updated = withdrawOverflow(commentId, user, reaction);
+            if (updated != null) {
+                return updated;
+            }
+        }
+        return comment;
+    }
+
+    // One pipeline stage, evaluated against the document before the update: the user joins this
+    // array (kept sorted) and leaves the opposite one, and each counter moves only if its array did
+    private static AggregationUpdate switchTo(Reaction reaction, int user) {
+        Reaction opposite = reaction.opposite();
+        Document members = new Document("$ifNull", List.of("$" + reaction.members, List.of()));
+        Document others = new Document("$ifNull", List.of("$" + opposite.members, List.of()));
+        Document isMember = new Document("$in", List.of(user, members));
+        Document wasOther = new Document("$in", List.of(user, others));
+        Document set = new Document()
+                .append(reaction.counter, new Document("$add", List.of("$" + reaction.counter,
+                        new Document("$cond", List.of(isMember, 0, 1)))))
+                .append(opposite.counter, new Document("$subtract", List.of("$" + opposite.counter,
+                        new Document("$cond", List.of(wasOther, 1, 0)))))
+                .append(reaction.members, new Document("$cond", List.of(isMember, members,
+                        new Document("$sortArray", new Document("input",
+                                new Document("$concatArrays", List.of(members, List.of(user))))
+                                .append("sortBy", 1)))))
+                .append(opposite.members, new Document("$filter", new Document("input", others)
+                        .append("cond", new Document("$ne", List.of("$$this", user)))));
+        return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+    }
+
+    // Returns the updated comment when the reaction was inline, otherwise null
+    private Comment withdrawInline(String commentId, int user, Reaction reaction) {
+        Query inline = withoutMembers(new Query(Criteria.where("id").is(commentId).and(reaction.members).is(user)));
+        Update pull = new Update().pull(reaction.members, user).inc(reaction.counter, -1);
+        return mongoTemplate.findAndModify(inline, pull, FindAndModifyOptions.options().returnNew(true), Comment.class);
+    }
+
+    // Returns the updated comment when an overflow reaction was removed, otherwise null
+    private Comment withdrawOverflow(String commentId, int user, Reaction reaction) {
+        Query overflow = new Query(Criteria.where("id").is(CommentReaction.idFor(commentId, reaction.type, user)));
+        if (mongoTemplate.remove(overflow, CommentReaction.class).getDeletedCount() == 0) {
+            return null;
+        }
+        return mongoTemplate.findAndModify(withoutMembers(new Query(Criteria.where("id").is(commentId))),
+                new Update().inc(reaction.counter, -1), FindAndModifyOptions.options().returnNew(true), Comment.class);
+    }
+
+    // One read for comments that never overflowed; overflowed comments also check the side collection
+    public Set<Reaction> reactionsOf(String commentId, String userEmail) {
+        Integer user = userEmail == null ? null : userOrdinalService.find(userEmail);
+        if (user == null) {
+            return Collections.emptySet();
+        }
+        Comment state = reactionState(commentId, user);
+        if (state == null) {
+            throw new CommentNotFoundException(commentId);
+        }
+        Set<Reaction> reactions = EnumSet.noneOf(Reaction.class);
+        for (Reaction reaction : Reaction.values()) {
+            if (reaction.membersOf(state).contains(user)
+                    || (state.isReactionOverflow() && mongoTemplate.exists(
+                            new Query(Criteria.where("id").is(CommentReaction.idFor(commentId, reaction.type, user))),
+                            CommentReaction.class))) {
+                reactions.add(reaction);
+            }
+        }
+        return reactions;
+    }
+
+    // Projects each member array down to the caller's ordinal, if present
+    private Comment reactionState(String commentId, int user) {
+        Query query = new Query(Criteria.where("id").is(commentId));
+        query.fields()
+                .include("reactionOverflow")
+                .elemMatch(Reaction.LIKE.members, Criteria.where("$eq").is(user))
+                .elemMatch(Reaction.DISLIKE.members, Criteria.where("$eq").is(user));
+        return mongoTemplate.findOne(query, Comment.class);
+    }
+
+    private Comment findComment(String commentId) {
+        return mongoTemplate.findOne(withoutMembers(new Query(Criteria.where("id").is(commentId))), Comment.class);
+    }
+
+    private static Query withoutMembers(Query query) {
+        query.fields().exclude(Reaction.LIKE.members, Reaction.DISLIKE.members);
+        return query;
+    }
+}
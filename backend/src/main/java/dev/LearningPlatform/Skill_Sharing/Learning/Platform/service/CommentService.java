@@ -1,41 +1,74 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
 
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CommentThreadNode;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CursorPage;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.CommentChangedEvent;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.CommentRepository;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.service.CommentReactionService.Reaction;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CommentService {
+    private static final int MAX_PAGE_SIZE = 50;
 
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CommentReactionService reactionService;
+
+    @Autowired
+    private ContentModerationService moderationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Comment> getAllComments() {
-        List<Comment> comments = commentRepository.findByReplyFalseOrderByCreatedAtDesc();
-        System.out.println("Returning all comments: " + comments);
-        return comments;
+        return commentRepository.findByReplyFalseOrderByCreatedAtDesc();
     }
 
     public List<Comment> getReplies(String parentId) {
-        List<Comment> replies = commentRepository.findByReplyTrueAndReplyToOrderByCreatedAtAsc(parentId);
-        System.out.println("Returning replies for parentId " + parentId + ": " + replies);
-        return replies;
+        return commentRepository.findByReplyTrueAndReplyToOrderByCreatedAtAsc(parentId);
     }
 
+    // Collection metadata count; exact per-post counts live on Post.commentCount
     public long count() {
-        return commentRepository.count();
+        return mongoTemplate.estimatedCount(Comment.class);
     }
 
     public long countReplies(String parentId) {
-        return commentRepository.countByReplyTo(parentId);
+        Query query = new Query(Criteria.where("id").is(parentId));
+        query.fields().include("replyCount");
+        Comment parent = mongoTemplate.findOne(query, Comment.class);
+        return parent == null ? 0 : parent.getReplyCount();
     }
 
     public Optional<Comment> getById(String id) {
@@ -45,9 +78,14 @@ public class CommentService {
     }
 
     public Comment create(Comment comment) {
+        moderationService.check("comment", comment.getContent());
         comment.setCreatedAt(Instant.now());
         comment.setUpdatedAt(Instant.now());
-        Comment saved = commentRepository.save(comment);
+        comment.setReplyCount(0);
+        if (comment.isReply() && comment.getPostId() == null && comment.getReplyTo() != null) {
+            commentRepository.findById(comment.getReplyTo()).ifPresent(parent -> comment.setPostId(parent.getPostId()));
+        }
+        Comment saved = insert(comment);
         System.out.println("Created comment: " + saved);
         return saved;
     }
@@ -65,11 +103,7 @@ public class CommentService {
             throw new SecurityException("You are not authorized to update this comment");
         }
 
-        comment.setContent(newDetails.getContent());
-        comment.setLikes(newDetails.getLikes());
-        comment.setDislikes(newDetails.getDislikes());
-        comment.setUpdatedAt(Instant.now());
-        return commentRepository.save(comment);
+        return setContent(id, newDetails.getContent());
     }
 
     public void delete(String id) {
@@ -85,47 +119,147 @@ public class CommentService {
             throw new SecurityException("You are not authorized to delete this comment");
         }
 
-        commentRepository.deleteById(id);
+        removeComment(comment);
+    }
+
+    public Comment likeComment(String id, String userEmail) {
+        return reacted(reactionService.add(id, userEmail, Reaction.LIKE));
+    }
+
+    public Comment unlikeComment(String id, String userEmail) {
+        return reacted(reactionService.remove(id, userEmail, Reaction.LIKE));
     }
 
-    public Comment likeComment(String id) {
-        return commentRepository.findById(id)
-                .map(comment -> {
-            comment.setLikes(comment.getLikes() + 1);
-                    return commentRepository.save(comment);
-                })
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
+    public Comment dislikeComment(String id, String userEmail) {
+        return reacted(reactionService.add(id, userEmail, Reaction.DISLIKE));
     }
 
-    public Comment dislikeComment(String id) {
-        return commentRepository.findById(id)
-                .map(comment -> {
-            comment.setDislikes(comment.getDislikes() + 1);
-                    return commentRepository.save(comment);
-                })
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
+    public Comment undislikeComment(String id, String userEmail) {
+        return reacted(reactionService.remove(id, userEmail, Reaction.DISLIKE));
+    }
+
+    private Comment reacted(Comment comment) {
+        eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.REACTED, comment));
+        return comment;
+    }
+
+    public Set<Reaction> getReactions(String id, String userEmail) {
+        return reactionService.reactionsOf(id, userEmail);
     }
 
     public Comment replyToComment(String parentId, Comment reply) {
         Optional<Comment> parent = commentRepository.findById(parentId);
         if (parent.isPresent()) {
+            moderationService.check("comment", reply.getContent());
             reply.setReply(true);
             reply.setReplyTo(parentId);
-            return commentRepository.save(reply);
+            reply.setReplyCount(0);
+            if (reply.getPostId() == null) {
+                reply.setPostId(parent.get().getPostId());
+            }
+            return insert(reply);
         }
         return null;
     }
 
     public List<Comment> getCommentsForPost(String postId) {
-        List<Comment> comments = commentRepository.findByPostIdAndReplyFalseOrderByCreatedAtDesc(postId);
-        System.out.println("Returning comments for postId " + postId + ": " + comments);
-        return comments;
+        return commentRepository.findByPostIdAndReplyFalseOrderByCreatedAtDesc(postId);
     }
 
     public List<Comment> getCommentsByPostId(String postId) {
-        List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtDesc(postId);
-        System.out.println("Returning comments by postId " + postId + ": " + comments);
-        return comments;
+        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId);
+    }
+
+    // Keyset pages of a post's top-level comments, served by the (postId, reply, createdAt, _id) index
+    public CursorPage<Comment> getCommentPage(String postId, String cursor, int size, boolean newestFirst) {
+        return page(Criteria.where("postId").is(postId).and("reply").is(false), cursor, size, newestFirst);
+    }
+
+    // Keyset pages of a comment's replies, served by the (replyTo, createdAt, _id) index
+    public CursorPage<Comment> getReplyPage(String parentId, String cursor, int size, boolean newestFirst) {
+        return page(Criteria.where("replyTo").is(parentId), cursor, size, newestFirst);
+    }
+
+    private CursorPage<Comment> page(Criteria filter, String cursor, int size, boolean newestFirst) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Sort.Direction direction = newestFirst ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            Criteria sameInstant = Criteria.where("createdAt").is(after.createdAt);
+            filter = new Criteria().andOperator(filter, new Criteria().orOperator(
+                    newestFirst ? Criteria.where("createdAt").lt(after.createdAt) : Criteria.where("createdAt").gt(after.createdAt),
+                    newestFirst ? sameInstant.and("id").lt(after.id) : sameInstant.and("id").gt(after.id)));
+        }
+        Query query = new Query(filter)
+                .with(Sort.by(direction, "createdAt").and(Sort.by(direction, "id")))
+                .limit(pageSize + 1);
+        query.fields().exclude("likedBy", "dislikedBy");
+        List<Comment> comments = mongoTemplate.find(query, Comment.class);
+
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = new ArrayList<>(comments.subList(0, pageSize));
+            Comment last = comments.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(comments, nextCursor);
+    }
+
+    // Opaque cursor: the (createdAt, id) of the last comment on the previous page
+    private static final class PageCursor {
+        final Instant createdAt;
+        final ObjectId id;
+
+        private PageCursor(Instant createdAt, ObjectId id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        static String encode(Instant createdAt, String id) {
+            String raw = createdAt.toEpochMilli() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new PageCursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                        new ObjectId(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    // Whole thread in one indexed query; nodes are linked by id in a single pass over the
+    // result. Top-level comments come back newest first, replies oldest first.
+    public List<CommentThreadNode> getCommentTree(String postId) {
+        Query query = new Query(Criteria.where("postId").is(postId)).with(Sort.by("createdAt"));
+        query.fields().exclude("likedBy", "dislikedBy");
+        List<Comment> comments = mongoTemplate.find(query, Comment.class);
+
+        Map<String, CommentThreadNode> nodes = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            nodes.put(comment.getId(), new CommentThreadNode(comment));
+        }
+        List<CommentThreadNode> roots = new ArrayList<>();
+        for (Comment comment : comments) {
+            CommentThreadNode node = nodes.get(comment.getId());
+            if (!comment.isReply()) {
+                roots.add(node);
+            } else {
+                // Replies whose parent was deleted are left out, as in the replies endpoint
+                CommentThreadNode parent = nodes.get(comment.getReplyTo());
+                if (parent != null) {
+                    parent.getReplies().add(node);
+                }
+            }
+        }
+        // The tree is the source of truth here, so stored counters cannot disagree with it
+        nodes.values().forEach(node -> node.getComment().setReplyCount(node.getReplies().size()));
+        Collections.reverse(roots);
+        return roots;
     }
 
     public Optional<Comment> getCommentById(String id) {
@@ -140,14 +274,26 @@ public class CommentService {
             throw new RuntimeException("Comment not found");
         }
 
-        Comment comment = optionalComment.get();
         System.out.println("Debug - Update Comment:");
         System.out.println("Comment ID: " + id);
         System.out.println("New content: " + content);
 
-        comment.setContent(content);
-        comment.setUpdatedAt(Instant.now());
-        return commentRepository.save(comment);
+        return setContent(id, content);
+    }
+
+    // Edits only touch content, so they never overwrite concurrent reaction updates
+    private Comment setContent(String id, String content) {
+        moderationService.check("comment", content);
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().exclude("likedBy", "dislikedBy");
+        Comment updated = mongoTemplate.findAndModify(query,
+                new Update().set("content", content).set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Comment.class);
+        if (updated != null) {
+            eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.UPDATED, updated));
+        }
+        return updated;
     }
 
     public void deleteComment(String id) {
@@ -159,7 +305,51 @@ public class CommentService {
         System.out.println("Debug - Delete Comment:");
         System.out.println("Comment ID: " + id);
 
-        commentRepository.deleteById(id);
+        removeComment(optionalComment.get());
+    }
+
+    // The post is checked before the insert and again after it: a tombstone that lands in
+    // between may mean the cascade has already passed, so the comment is taken back out
+    private Comment insert(Comment comment) {
+        if (!isLivePost(comment.getPostId())) {
+            throw new PostNotFoundException(comment.getPostId());
+        }
+        Comment saved = commentRepository.save(comment);
+        if (!isLivePost(saved.getPostId())) {
+            commentRepository.deleteById(saved.getId());
+            throw new PostNotFoundException(saved.getPostId());
+        }
+        adjustCounters(saved, 1);
+        eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.CREATED, saved));
+        return saved;
+    }
+
+    private boolean isLivePost(String postId) {
+        return postId == null
+                || mongoTemplate.exists(new Query(Criteria.where("id").is(postId).and("deletedAt").is(null)), Post.class);
+    }
+
+    // Counters only move if this call actually removed the document
+    private void removeComment(Comment comment) {
+        long removed = mongoTemplate.remove(new Query(Criteria.where("id").is(comment.getId())), Comment.class)
+                .getDeletedCount();
+        if (removed > 0) {
+            adjustCounters(comment, -1);
+            eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.DELETED, comment));
+        }
+    }
+
+    // Post.commentCount counts every comment on the post, Comment.replyCount the direct replies.
+    // CommentCounterReconciler repairs any drift left by a failure between the write and the $inc.
+    private void adjustCounters(Comment comment, int delta) {
+        if (comment.getPostId() != null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(comment.getPostId())),
+                    new Update().inc("commentCount", delta), Post.class);
+        }
+        if (comment.isReply() && comment.getReplyTo() != null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(comment.getReplyTo())),
+                    new Update().inc("replyCount", delta), Comment.class);
+        }
     }
 
     private String getCurrentUserEmail() {
@@ -0,0 +1,91 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BannedTerm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Blocks banned terms in comment and post text. The term list lives in the bannedTerms
+// collection and is compiled into an AhoCorasickAutomaton; reloads build a new automaton
+// off to the side and swap the reference, so writers never see a half-built matcher.
+@Service
+public class ContentModerationService {
+    private static final Logger logger = LoggerFactory.getLogger(ContentModerationService.class);
+    private static final int MAX_REPORTED_MATCHES = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final AtomicReference<AhoCorasickAutomaton> automaton =
+            new AtomicReference<>(AhoCorasickAutomaton.compile(List.of()));
+    private final Timer scanTimer;
+    private final Counter rejected;
+    private final Counter accepted;
+    private final MeterRegistry meterRegistry;
+
+    public ContentModerationService(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.scanTimer = Timer.builder("moderation.scan").description("Time spent scanning text for banned terms")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("moderation.checks").tag("result", "rejected").register(meterRegistry);
+        this.accepted = Counter.builder("moderation.checks").tag("result", "accepted").register(meterRegistry);
+        meterRegistry.gauge("moderation.terms", automaton, ref -> ref.get().size());
+    }
+
+    // Throws ContentRejectedException naming the first field that contains a banned term
+    public void check(String field, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        AhoCorasickAutomaton current = automaton.get();
+        List<String> matches = scanTimer.record(() -> current.findMatches(text, MAX_REPORTED_MATCHES));
+        if (matches.isEmpty()) {
+            accepted.increment();
+            return;
+        }
+        rejected.increment();
+        meterRegistry.counter("moderation.matches", "field", field).increment(matches.size());
+        logger.info("Rejected {} containing {} banned term(s)", field, matches.size());
+        throw new ContentRejectedException(field);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${moderation.reload-interval-ms:300000}",
+               fixedDelayString = "${moderation.reload-interval-ms:300000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    // Keeps the previous automaton if the terms cannot be read or compiled
+    public int reload() {
+        try {
+            Query query = new Query();
+            query.fields().include("term").exclude("_id");
+            List<String> terms = mongoTemplate.find(query, BannedTerm.class).stream().map(BannedTerm::getTerm).toList();
+            long start = System.nanoTime();
+            AhoCorasickAutomaton compiled = AhoCorasickAutomaton.compile(terms);
+            automaton.set(compiled);
+            logger.info("Loaded {} banned terms in {} ms", compiled.size(), (System.nanoTime() - start) / 1_000_000);
+            return compiled.size();
+        } catch (Exception e) {
+            logger.error("Banned term reload failed, keeping {} terms: {}", automaton.get().size(), e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class ContentRejectedException extends RuntimeException {
+    private final String field;
+
+    public ContentRejectedException(String field) {
+        super("The " + field + " contains terms that are not allowed");
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
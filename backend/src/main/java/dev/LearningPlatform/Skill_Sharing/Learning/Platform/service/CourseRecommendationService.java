@@ -0,0 +1,313 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CourseRecommendation;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.EnrollmentChangedEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Course;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// "Learners also took": item-to-item recommendations from enrollment co-occurrence.
+// Courses are interned to int ordinals; row i of the sparse matrix maps every course
+// that shares a learner with course i to the number of shared learners.
+@Service
+public class CourseRecommendationService {
+    private static final Logger logger = LoggerFactory.getLogger(CourseRecommendationService.class);
+    private static final int MAX_LIMIT = 20;
+    private static final int USERS_PER_TASK = 2048;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Matrix matrix = new Matrix(new HashMap<>(), new ArrayList<>(), new HashMap<>(), new int[0], new IntIntHashMap[0]);
+
+    public CourseRecommendationService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public List<CourseRecommendation> getRecommendations(String courseId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Scored> scored;
+        lock.readLock().lock();
+        try {
+            scored = matrix.topSimilar(courseId, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (scored.isEmpty()) {
+            return List.of();
+        }
+
+        Query summaries = new Query(Criteria.where("id").in(scored.stream().map(s -> s.courseId).toList()));
+        summaries.fields().include("courseName", "courseLevel", "institute", "courseType");
+        Map<String, Course> courses = mongoTemplate.find(summaries, Course.class).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+
+        List<CourseRecommendation> result = new ArrayList<>(scored.size());
+        for (Scored s : scored) {
+            Course course = courses.get(s.courseId);
+            if (course != null) {
+                result.add(new CourseRecommendation(course.getId(), course.getCourseName(), course.getCourseLevel(),
+                        course.getInstitute(), course.getCourseType(), s.score, s.sharedLearners));
+            }
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isEnrolled()) {
+                matrix.enroll(event.getUserEmail(), event.getCourseId());
+            } else {
+                matrix.unenroll(event.getUserEmail(), event.getCourseId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${recommendations.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${recommendations.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            Matrix rebuilt = scanEnrollments();
+            lock.writeLock().lock();
+            try {
+                matrix = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Course co-occurrence matrix rebuilt in {} ms: {} courses, {} learners",
+                    System.currentTimeMillis() - start, rebuilt.courseIds.size(), rebuilt.userCourses.size());
+        } catch (Exception e) {
+            logger.error("Course co-occurrence rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    // Streams (userEmail, courseId) pairs with a cursor, then counts pairs in parallel
+    private Matrix scanEnrollments() {
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<String> courseIds = new ArrayList<>();
+        Map<String, BitSet> userCourses = new HashMap<>();
+
+        Query pairs = new Query();
+        pairs.fields().include("userEmail", "courseId").exclude("_id");
+        try (Stream<Document> stream = mongoTemplate.stream(pairs, Document.class, "enrollments")) {
+            stream.forEach(row -> {
+                String userEmail = row.getString("userEmail");
+                String courseId = row.getString("courseId");
+                if (userEmail == null || courseId == null) {
+                    return;
+                }
+                int ordinal = ordinals.computeIfAbsent(courseId, id -> {
+                    courseIds.add(id);
+                    return courseIds.size() - 1;
+                });
+                userCourses.computeIfAbsent(userEmail, u -> new BitSet()).set(ordinal);
+            });
+        }
+
+        int courseCount = courseIds.size();
+        int[] enrollmentCounts = new int[courseCount];
+        for (BitSet courses : userCourses.values()) {
+            for (int c = courses.nextSetBit(0); c >= 0; c = courses.nextSetBit(c + 1)) {
+                enrollmentCounts[c]++;
+            }
+        }
+        BitSet[] users = userCourses.values().toArray(new BitSet[0]);
+        IntIntHashMap[] rows = ForkJoinPool.commonPool().invoke(new CountPairsTask(users, 0, users.length, courseCount));
+        return new Matrix(ordinals, courseIds, userCourses, enrollmentCounts, rows);
+    }
+
+    private static class CountPairsTask extends RecursiveTask<IntIntHashMap[]> {
+        private final BitSet[] users;
+        private final int from;
+        private final int to;
+        private final int courseCount;
+
+        CountPairsTask(BitSet[] users, int from, int to, int courseCount) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.courseCount = courseCount;
+        }
+
+        @Override
+        protected IntIntHashMap[] compute() {
+            if (to - from <= USERS_PER_TASK) {
+                IntIntHashMap[] rows = new IntIntHashMap[courseCount];
+                for (int u = from; u < to; u++) {
+                    int[] courses = users[u].stream().toArray();
+                    for (int i = 0; i < courses.length; i++) {
+                        for (int j = i + 1; j < courses.length; j++) {
+                            row(rows, courses[i]).addTo(courses[j], 1);
+                            row(rows, courses[j]).addTo(courses[i], 1);
+                        }
+                    }
+                }
+                return rows;
+            }
+            int mid = (from + to) >>> 1;
+            CountPairsTask left = new CountPairsTask(users, from, mid, courseCount);
+            CountPairsTask right = new CountPairsTask(users, mid, to, courseCount);
+            left.fork();
+            IntIntHashMap[] merged = right.compute();
+            IntIntHashMap[] leftRows = left.join();
+            for (int c = 0; c < courseCount; c++) {
+                if (leftRows[c] == null) {
+                    continue;
+                }
+                if (merged[c] == null) {
+                    merged[c] = leftRows[c];
+                } else {
+                    merged[c].addAll(leftRows[c]);
+                }
+            }
+            return merged;
+        }
+    }
+
+    private static IntIntHashMap row(IntIntHashMap[] rows, int course) {
+        IntIntHashMap row = rows[course];
+        if (row == null) {
+            row = new IntIntHashMap();
+            rows[course] = row;
+        }
+        return row;
+    }
+
+    private static class Scored {
+        final String courseId;
+        final double score;
+        final int sharedLearners;
+
+        Scored(String courseId, double score, int sharedLearners) {
+            this.courseId = courseId;
+            this.score = score;
+            this.sharedLearners = sharedLearners;
+        }
+    }
+
+    // Mutable matrix state; every access goes through the service's lock
+    private static class Matrix {
+        final Map<String, Integer> ordinals;
+        final List<String> courseIds;
+        final Map<String, BitSet> userCourses;
+        int[] enrollmentCounts;
+        IntIntHashMap[] rows;
+
+        Matrix(Map<String, Integer> ordinals, List<String> courseIds, Map<String, BitSet> userCourses,
+               int[] enrollmentCounts, IntIntHashMap[] rows) {
+            this.ordinals = ordinals;
+            this.courseIds = courseIds;
+            this.userCourses = userCourses;
+            this.enrollmentCounts = enrollmentCounts;
+            this.rows = rows;
+        }
+
+        void enroll(String userEmail, String courseId) {
+            int course = ordinal(courseId);
+            BitSet courses = userCourses.computeIfAbsent(userEmail, u -> new BitSet());
+            if (courses.get(course)) {
+                return;
+            }
+            adjustPairs(courses, course, 1);
+            courses.set(course);
+            enrollmentCounts[course]++;
+        }
+
+        void unenroll(String userEmail, String courseId) {
+            Integer course = ordinals.get(courseId);
+            BitSet courses = userCourses.get(userEmail);
+            if (course == null || courses == null || !courses.get(course)) {
+                return;
+            }
+            courses.clear(course);
+            adjustPairs(courses, course, -1);
+            enrollmentCounts[course]--;
+            if (courses.isEmpty()) {
+                userCourses.remove(userEmail);
+            }
+        }
+
+        // Cosine similarity: shared / sqrt(enrolled(a) * enrolled(b)), kept in a size-bounded min-heap
+        List<Scored> topSimilar(String courseId, int limit) {
+            Integer course = ordinals.get(courseId);
+            if (course == null || rows[course] == null || enrollmentCounts[course] == 0) {
+                return List.of();
+            }
+            double own = enrollmentCounts[course];
+            PriorityQueue<Scored> heap = new PriorityQueue<>(Comparator.comparingDouble(s -> s.score));
+            rows[course].forEach((other, shared) -> {
+                if (shared <= 0 || enrollmentCounts[other] <= 0) {
+                    return;
+                }
+                double score = shared / Math.sqrt(own * enrollmentCounts[other]);
+                if (heap.size() < limit) {
+                    heap.add(new Scored(courseIds.get(other), score, shared));
+                } else if (score > heap.peek().score) {
+                    heap.poll();
+                    heap.add(new Scored(courseIds.get(other), score, shared));
+                }
+            });
+            List<Scored> top = new ArrayList<>(heap);
+            top.sort(Comparator.comparingDouble((Scored s) -> s.score).reversed());
+            return top;
+        }
+
+        private void adjustPairs(BitSet courses, int course, int delta) {
+            for (int other = courses.nextSetBit(0); other >= 0; other = courses.nextSetBit(other + 1)) {
+                row(rows, course).addTo(other, delta);
+                row(rows, other).addTo(course, delta);
+            }
+        }
+
+        private int ordinal(String courseId) {
+            Integer existing = ordinals.get(courseId);
+            if (existing != null) {
+                return existing;
+            }
+            int ordinal = courseIds.size();
+            ordinals.put(courseId, ordinal);
+            courseIds.add(courseId);
+            if (ordinal >= rows.length) {
+                int capacity = Math.max(16, rows.length * 2);
+                rows = Arrays.copyOf(rows, capacity);
+                enrollmentCounts = Arrays.copyOf(enrollmentCounts, capacity);
+            }
+            return ordinal;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
 
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.EnrollmentChangedEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.LessonCompletionToggledEvent;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Enrollment;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Course;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.EnrollmentRepository;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.CourseRepository;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
@@ -16,15 +19,18 @@ public class EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EnrollmentService(
         EnrollmentRepository enrollmentRepository, 
         CourseRepository courseRepository,
-        UserRepository userRepository
+        UserRepository userRepository,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -61,6 +67,8 @@ public class EnrollmentService {
         userRepository.save(user);
         System.out.println("[DEBUG] User updated with enrolled course: " + courseId);
 
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(
+                userEmail, courseId, courseOpt.get().getUserId(), true, 0));
         return enrollment;
     }
 
@@ -80,10 +88,11 @@ public class EnrollmentService {
         }
 
         Enrollment enrollment = enrollmentOpt.get();
-        if (enrollment.getCompletedLessonIds().contains(lessonId)) {
-            enrollment.removeCompletedLesson(lessonId);
-        } else {
+        boolean completed = !enrollment.getCompletedLessonIds().contains(lessonId);
+        if (completed) {
             enrollment.addCompletedLesson(lessonId);
+        } else {
+            enrollment.removeCompletedLesson(lessonId);
         }
 
         // Calculate progress
@@ -97,7 +106,9 @@ public class EnrollmentService {
             enrollment.setProgress((int) ((double) completedLessons / totalLessons * 100));
         }
 
-        return enrollmentRepository.save(enrollment);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new LessonCompletionToggledEvent(userEmail, courseId, lessonId, completed));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -216,6 +227,12 @@ public class EnrollmentService {
                 throw new RuntimeException("Failed to update user's enrolled courses", e);
             }
 
+            int completedLessons = enrollments.stream()
+                .mapToInt(e -> e.getCompletedLessonIds() == null ? 0 : e.getCompletedLessonIds().size())
+                .sum();
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(
+                    userEmail, courseId, course.getUserId(), false, completedLessons));
+
             System.out.println("[DEBUG] ===== Unenrollment Process Completed Successfully =====");
         } catch (IllegalArgumentException e) {
             System.out.println("[DEBUG] Validation error during unenrollment: " + e.getMessage());
@@ -0,0 +1,259 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.LeaderboardEntry;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.EnrollmentChangedEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.LessonCompletionToggledEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Course;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.UserRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class LeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+    private static final int MAX_LIMIT = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Learners are scored by completed lessons, instructors by enrollments in their courses
+    private ScoreIndex learners = new ScoreIndex();
+    private ScoreIndex instructors = new ScoreIndex();
+    // Keys changed by events while a rebuild scans; their live scores replace the scanned ones
+    // at the swap, since the scan may or may not already include those changes. Guarded by lock.
+    private boolean building;
+    private final Set<String> touchedLearners = new HashSet<>();
+    private final Set<String> touchedInstructors = new HashSet<>();
+
+    public LeaderboardService(MongoTemplate mongoTemplate, UserRepository userRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+    }
+
+    public List<LeaderboardEntry> getTopLearners(int limit) {
+        return topOf(() -> learners, limit);
+    }
+
+    public List<LeaderboardEntry> getTopInstructors(int limit) {
+        return topOf(() -> instructors, limit);
+    }
+
+    public Optional<LeaderboardEntry> getLearnerRank(String userEmail) {
+        return rankOf(() -> learners, userEmail);
+    }
+
+    public Optional<LeaderboardEntry> getInstructorRank(String userEmail) {
+        return rankOf(() -> instructors, userEmail);
+    }
+
+    @EventListener
+    public void onLessonCompletionToggled(LessonCompletionToggledEvent event) {
+        lock.writeLock().lock();
+        try {
+            incrementLearner(event.getUserEmail(), event.isCompleted() ? 1 : -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isEnrolled()) {
+                if (event.getCourseOwner() != null) {
+                    incrementInstructor(event.getCourseOwner(), 1);
+                }
+            } else {
+                if (event.getCourseOwner() != null) {
+                    incrementInstructor(event.getCourseOwner(), -1);
+                }
+                incrementLearner(event.getUserEmail(), -event.getCompletedLessons());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void incrementLearner(String userEmail, long delta) {
+        learners.increment(userEmail, delta);
+        if (building) {
+            touchedLearners.add(userEmail);
+        }
+    }
+
+    private void incrementInstructor(String userEmail, long delta) {
+        instructors.increment(userEmail, delta);
+        if (building) {
+            touchedInstructors.add(userEmail);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    // Periodic full rebuild repairs drift from course deletions; users changed mid-scan keep their live score
+    @Scheduled(initialDelayString = "${leaderboard.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${leaderboard.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+            touchedLearners.clear();
+            touchedInstructors.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            ScoreIndex newLearners = new ScoreIndex();
+            ScoreIndex newInstructors = new ScoreIndex();
+            loadLearnerScores(newLearners);
+            loadInstructorScores(newInstructors);
+
+            lock.writeLock().lock();
+            try {
+                carryOver(touchedLearners, learners, newLearners);
+                carryOver(touchedInstructors, instructors, newInstructors);
+                learners = newLearners;
+                instructors = newInstructors;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Leaderboard rebuilt in {} ms: {} learners, {} instructors",
+                    System.currentTimeMillis() - start, newLearners.size(), newInstructors.size());
+        } catch (Exception e) {
+            logger.error("Leaderboard rebuild failed: {}", e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                touchedLearners.clear();
+                touchedInstructors.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static void carryOver(Set<String> touched, ScoreIndex live, ScoreIndex rebuilt) {
+        for (String key : touched) {
+            rebuilt.set(key, live.scoreOf(key));
+        }
+    }
+
+    private void loadLearnerScores(ScoreIndex index) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.project("userEmail")
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("completedLessonIds").then(Collections.emptyList())))
+                        .as("completed"),
+                Aggregation.group("userEmail").sum("completed").as("score")
+        );
+        for (Document row : mongoTemplate.aggregate(aggregation, "enrollments", Document.class)) {
+            String userEmail = row.getString("_id");
+            if (userEmail != null) {
+                index.set(userEmail, ((Number) row.get("score")).longValue());
+            }
+        }
+    }
+
+    private void loadInstructorScores(ScoreIndex index) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("courseId").count().as("enrollments")
+        );
+        Map<String, Long> enrollmentsByCourse = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, "enrollments", Document.class)) {
+            String courseId = row.getString("_id");
+            if (courseId != null) {
+                enrollmentsByCourse.put(courseId, ((Number) row.get("enrollments")).longValue());
+            }
+        }
+
+        Query ownersOnly = new Query();
+        ownersOnly.fields().include("userId");
+        for (Course course : mongoTemplate.find(ownersOnly, Course.class)) {
+            Long enrollments = enrollmentsByCourse.get(course.getId());
+            if (enrollments != null && course.getUserId() != null) {
+                index.increment(course.getUserId(), enrollments);
+            }
+        }
+    }
+
+    private List<LeaderboardEntry> topOf(Supplier<ScoreIndex> board, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<ScoreIndex.Entry> entries;
+        lock.readLock().lock();
+        try {
+            entries = board.get().range(0, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return withUserNames(entries);
+    }
+
+    private Optional<LeaderboardEntry> rankOf(Supplier<ScoreIndex> board, String userEmail) {
+        ScoreIndex.Entry entry;
+        lock.readLock().lock();
+        try {
+            ScoreIndex index = board.get();
+            int rank = index.rankOf(userEmail);
+            if (rank == 0) {
+                return Optional.empty();
+            }
+            entry = new ScoreIndex.Entry(userEmail, index.scoreOf(userEmail), rank);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return withUserNames(List.of(entry)).stream().findFirst();
+    }
+
+    // One $in lookup for the whole page instead of a findByEmail per row
+    private List<LeaderboardEntry> withUserNames(List<ScoreIndex.Entry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        List<String> emails = entries.stream().map(ScoreIndex.Entry::getKey).toList();
+        Map<String, User> users = userRepository.findSummariesByEmailIn(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity(), (a, b) -> a));
+
+        List<LeaderboardEntry> result = new ArrayList<>(entries.size());
+        for (ScoreIndex.Entry entry : entries) {
+            User user = users.get(entry.getKey());
+            String name = user != null && user.getName() != null ? user.getName() : entry.getKey();
+            String username = user != null ? user.getUsername() : null;
+            result.add(new LeaderboardEntry(entry.getRank(), name, username, entry.getScore()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.LearningDashboardItem;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.PagedResponse;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds the "My Learning" dashboard with a single aggregation: the user's enrollments
+// are paged inside a $facet and joined to a summary projection of their courses, so
+// the client no longer fetches every course tree separately.
+@Service
+public class LearningDashboardService {
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final MongoTemplate mongoTemplate;
+
+    public LearningDashboardService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public PagedResponse<LearningDashboardItem> getDashboard(String userEmail, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("userEmail", userEmail)),
+                // Enrollments whose course was deleted are dropped before counting, so total matches the items
+                courseLookup(List.of(new Document("$project", new Document("_id", 1)))),
+                new Document("$match", new Document("course", new Document("$ne", List.of()))),
+                new Document("$facet", new Document()
+                        .append("total", List.of(new Document("$count", "count")))
+                        .append("items", List.of(
+                                new Document("$sort", new Document("_id", -1)),
+                                new Document("$skip", (long) pageNumber * pageSize),
+                                new Document("$limit", pageSize),
+                                courseSummaryLookup(),
+                                new Document("$unwind", "$course"),
+                                summaryProjection()
+                        )))
+        );
+
+        Document result = mongoTemplate.getCollection("enrollments").aggregate(pipeline).first();
+        if (result == null) {
+            return new PagedResponse<>(List.of(), pageNumber, pageSize, 0);
+        }
+        List<Document> totals = result.getList("total", Document.class);
+        long total = totals.isEmpty() ? 0 : ((Number) totals.get(0).get("count")).longValue();
+
+        List<LearningDashboardItem> items = new ArrayList<>();
+        for (Document row : result.getList("items", Document.class)) {
+            items.add(toItem(row));
+        }
+        return new PagedResponse<>(items, pageNumber, pageSize, total);
+    }
+
+    // The sub-pipeline flattens module lessons to {id, title} and drops everything else.
+    private static Document courseSummaryLookup() {
+        Document lessonRefs = new Document("$map", new Document()
+                .append("input", new Document("$ifNull", List.of("$$this.lessons", List.of())))
+                .append("as", "lesson")
+                .append("in", new Document()
+                        .append("id", new Document("$ifNull", List.of("$$lesson._id", "$$lesson.id")))
+                        .append("title", "$$lesson.title")));
+        Document flattenLessons = new Document("$reduce", new Document()
+                .append("input", new Document("$ifNull", List.of("$modules", List.of())))
+                .append("initialValue", List.of())
+                .append("in", new Document("$concatArrays", List.of("$$value", lessonRefs))));
+
+        return courseLookup(List.of(new Document("$project", new Document()
+                .append("courseName", 1)
+                .append("courseLevel", 1)
+                .append("institute", 1)
+                .append("courseType", 1)
+                .append("thumbnail", 1)
+                .append("lessons", flattenLessons))));
+    }
+
+    // courseId is stored as a string, so convert it before joining on courses._id
+    private static Document courseLookup(List<Document> stages) {
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", new Document("$expr",
+                new Document("$eq", List.of("$_id", "$$courseId")))));
+        pipeline.addAll(stages);
+        return new Document("$lookup", new Document()
+                .append("from", "courses")
+                .append("let", new Document("courseId", new Document("$convert", new Document()
+                        .append("input", "$courseId")
+                        .append("to", "objectId")
+                        .append("onError", null)
+                        .append("onNull", null))))
+                .append("pipeline", pipeline)
+                .append("as", "course"));
+    }
+
+    private static Document summaryProjection() {
+        Document completed = new Document("$ifNull", List.of("$completedLessonIds", List.of()));
+        Document lessons = new Document("$ifNull", List.of("$course.lessons", List.of()));
+        Document remaining = new Document("$filter", new Document()
+                .append("input", lessons)
+                .append("as", "lesson")
+                .append("cond", new Document("$not", List.of(
+                        new Document("$in", List.of("$$lesson.id", completed))))));
+
+        return new Document("$project", new Document()
+                .append("courseId", 1)
+                .append("progress", 1)
+                .append("courseName", "$course.courseName")
+                .append("courseLevel", "$course.courseLevel")
+                .append("institute", "$course.institute")
+                .append("courseType", "$course.courseType")
+                .append("thumbnail", "$course.thumbnail")
+                .append("completedLessons", new Document("$size", completed))
+                .append("totalLessons", new Document("$size", lessons))
+                .append("nextLesson", new Document("$arrayElemAt", List.of(remaining, 0))));
+    }
+
+    private static LearningDashboardItem toItem(Document row) {
+        LearningDashboardItem item = new LearningDashboardItem();
+        Object id = row.get("_id");
+        item.setEnrollmentId(id instanceof ObjectId ? ((ObjectId) id).toHexString() : String.valueOf(id));
+        item.setCourseId(row.getString("courseId"));
+        item.setCourseName(row.getString("courseName"));
+        item.setCourseLevel(row.getString("courseLevel"));
+        item.setInstitute(row.getString("institute"));
+        item.setCourseType(row.getString("courseType"));
+        item.setThumbnail(row.getString("thumbnail"));
+        item.setProgress(intValue(row.get("progress")));
+        item.setCompletedLessons(intValue(row.get("completedLessons")));
+        item.setTotalLessons(intValue(row.get("totalLessons")));
+        Document next = row.get("nextLesson", Document.class);
+        if (next != null) {
+            item.setNextLesson(new LearningDashboardItem.LessonRef(next.getString("id"), next.getString("title")));
+        }
+        return item;
+    }
+
+    private static int intValue(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
@@ -0,0 +1,127 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.event.LessonCompletionToggledEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonProgressDay;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonProgressEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.LessonProgressDayRepository;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.LessonProgressEventRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+// Lesson progress history kept outside the enrollment document. Every toggle appends
+// a small event; the compactor folds whole UTC days older than the retention window
+// into one LessonProgressDay per (user, course, day) and deletes the folded events.
+@Service
+public class LessonProgressLogService {
+    private static final Logger logger = LoggerFactory.getLogger(LessonProgressLogService.class);
+    private static final int MAX_DAYS_PER_RUN = 30;
+
+    private final MongoTemplate mongoTemplate;
+    private final LessonProgressEventRepository eventRepository;
+    private final LessonProgressDayRepository dayRepository;
+
+    @Value("${learning.progress-log.retention-days:7}")
+    private int retentionDays;
+
+    public LessonProgressLogService(MongoTemplate mongoTemplate,
+                                    LessonProgressEventRepository eventRepository,
+                                    LessonProgressDayRepository dayRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventRepository = eventRepository;
+        this.dayRepository = dayRepository;
+    }
+
+    @EventListener
+    public void onLessonCompletionToggled(LessonCompletionToggledEvent event) {
+        try {
+            mongoTemplate.insert(new LessonProgressEvent(event.getUserEmail(), event.getCourseId(),
+                    event.getLessonId(), event.isCompleted(), event.getOccurredAt()));
+        } catch (Exception e) {
+            // The toggle itself is already saved; a missing history entry must not fail the request
+            logger.error("Could not append lesson progress event for {}: {}", event.getUserEmail(), e.getMessage());
+        }
+    }
+
+    public List<LessonProgressDay> getDailyHistory(String userEmail, String courseId) {
+        return dayRepository.findByUserEmailAndCourseIdOrderByDayAsc(userEmail, courseId);
+    }
+
+    public List<LessonProgressEvent> getRecentEvents(String userEmail, String courseId) {
+        return eventRepository.findByUserEmailAndCourseIdOrderByAtAsc(userEmail, courseId);
+    }
+
+    @Scheduled(initialDelayString = "${learning.progress-log.compact-interval-ms:3600000}",
+               fixedDelayString = "${learning.progress-log.compact-interval-ms:3600000}")
+    public void compact() {
+        Instant cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays).atStartOfDay(ZoneOffset.UTC).toInstant();
+        try {
+            for (int i = 0; i < MAX_DAYS_PER_RUN; i++) {
+                Query oldest = new Query(Criteria.where("at").lt(cutoff)).with(Sort.by("at")).limit(1);
+                oldest.fields().include("at");
+                LessonProgressEvent first = mongoTemplate.findOne(oldest, LessonProgressEvent.class);
+                if (first == null) {
+                    return;
+                }
+                compactDay(first.getAt().atZone(ZoneOffset.UTC).toLocalDate());
+            }
+        } catch (Exception e) {
+            logger.error("Lesson progress compaction failed: {}", e.getMessage());
+        }
+    }
+
+    // One day at a time: the summary is written with $merge before any of that day's events
+    // are deleted, and keepExisting means a rerun after a partial delete cannot overwrite the
+    // complete summary with a smaller one. No new events ever land in a past day.
+    private void compactDay(LocalDate day) {
+        Date from = Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Date to = Date.from(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        String dayKey = day.toString();
+
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("at", new Document("$gte", from).append("$lt", to))),
+                new Document("$group", new Document()
+                        .append("_id", new Document("userEmail", "$userEmail").append("courseId", "$courseId"))
+                        .append("completions", new Document("$sum", new Document("$cond", List.of("$completed", 1, 0))))
+                        .append("reversals", new Document("$sum", new Document("$cond", List.of("$completed", 0, 1))))
+                        .append("completedLessonIds", new Document("$addToSet",
+                                new Document("$cond", List.of("$completed", "$lessonId", "$$REMOVE"))))
+                        .append("firstAt", new Document("$min", "$at"))
+                        .append("lastAt", new Document("$max", "$at"))),
+                new Document("$project", new Document()
+                        .append("_id", new Document("$concat", List.of("$_id.userEmail", "|", "$_id.courseId", "|", dayKey)))
+                        .append("userEmail", "$_id.userEmail")
+                        .append("courseId", "$_id.courseId")
+                        .append("day", dayKey)
+                        .append("completions", 1)
+                        .append("reversals", 1)
+                        .append("completedLessonIds", 1)
+                        .append("firstAt", 1)
+                        .append("lastAt", 1)),
+                new Document("$merge", new Document()
+                        .append("into", "lessonProgressDays")
+                        .append("on", "_id")
+                        .append("whenMatched", "keepExisting")
+                        .append("whenNotMatched", "insert"))
+        );
+        mongoTemplate.getCollection("lessonProgressEvents").aggregate(pipeline).toCollection();
+
+        long removed = mongoTemplate.remove(
+                new Query(Criteria.where("at").gte(from).lt(to)), LessonProgressEvent.class).getDeletedCount();
+        logger.info("Compacted {} lesson progress events for {}", removed, dayKey);
+    }
+}
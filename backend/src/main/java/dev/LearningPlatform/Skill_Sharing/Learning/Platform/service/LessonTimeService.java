@@ -0,0 +1,273 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonTime;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.EnrollmentRepository;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.LessonTimeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lesson time-on-task from client heartbeats. Heartbeats are folded into a lock-striped
+// in-memory accumulator keyed by (user, course, lesson) and written behind as one
+// unordered bulk of $inc upserts per flush, instead of a document save per heartbeat.
+// The number of pending keys is bounded: once it is reached new keys are refused
+// (the controller answers 429) until the next flush drains the accumulator.
+// Credit is wall-clock time since the key's previous credited heartbeat, capped at one
+// interval, so sending heartbeats faster than the interval cannot inflate the total.
+// A key's first heartbeat checks the enrollment and only opens the session.
+@Service
+public class LessonTimeService {
+    private static final Logger logger = LoggerFactory.getLogger(LessonTimeService.class);
+    private static final int STRIPES = 16;
+    private static final int BULK_CHUNK_SIZE = 1000;
+    // Client timers drift, so a heartbeat up to a fifth of an interval early still counts
+    private static final double EARLY_TOLERANCE = 0.2;
+    // A key that has been quiet this many intervals starts a new session
+    private static final int SESSION_IDLE_INTERVALS = 4;
+
+    public enum Heartbeat { RECORDED, IGNORED, NOT_ENROLLED, BUSY }
+
+    private final MongoTemplate mongoTemplate;
+    private final LessonTimeRepository lessonTimeRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final int heartbeatIntervalSeconds;
+    private final int maxPendingKeys;
+    private final long minGapMillis;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    // Last credited heartbeat per key; only keys whose enrollment was checked get an entry
+    private final Cache<Key, Session> sessions;
+    private final AtomicInteger pendingKeys = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public LessonTimeService(MongoTemplate mongoTemplate, LessonTimeRepository lessonTimeRepository,
+                             EnrollmentRepository enrollmentRepository,
+                             @Value("${learning.heartbeat.interval-seconds:15}") int heartbeatIntervalSeconds,
+                             @Value("${learning.heartbeat.max-pending-keys:100000}") int maxPendingKeys) {
+        this.mongoTemplate = mongoTemplate;
+        this.lessonTimeRepository = lessonTimeRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.heartbeatIntervalSeconds = heartbeatIntervalSeconds;
+        this.maxPendingKeys = maxPendingKeys;
+        this.minGapMillis = (long) (heartbeatIntervalSeconds * 1000L * (1 - EARLY_TOLERANCE));
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxPendingKeys)
+                .expireAfterAccess(Duration.ofSeconds((long) heartbeatIntervalSeconds * SESSION_IDLE_INTERVALS))
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public Heartbeat recordHeartbeat(String userEmail, String courseId, String lessonId) {
+        Key key = new Key(userEmail, courseId, lessonId);
+        if (sessions.getIfPresent(key) == null
+                && !enrollmentRepository.existsByUserEmailAndCourseId(userEmail, courseId)) {
+            return Heartbeat.NOT_ENROLLED;
+        }
+        long now = System.currentTimeMillis();
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        stripe.lock.lock();
+        try {
+            Session session = sessions.getIfPresent(key);
+            if (session == null) {
+                sessions.put(key, new Session(now));
+                return Heartbeat.RECORDED;
+            }
+            long elapsed = now - session.lastCreditedAt;
+            if (elapsed < minGapMillis) {
+                return Heartbeat.IGNORED;
+            }
+            Delta delta = stripe.pending.get(key);
+            if (delta == null) {
+                if (pendingKeys.get() >= maxPendingKeys) {
+                    return Heartbeat.BUSY;
+                }
+                delta = new Delta();
+                stripe.pending.put(key, delta);
+                pendingKeys.incrementAndGet();
+            }
+            // Whole seconds are credited and the remainder carries over to the next heartbeat;
+            // after a pause only one interval is credited and the clock restarts from now
+            long credited = Math.min(heartbeatIntervalSeconds, elapsed / 1000);
+            session.lastCreditedAt = credited == heartbeatIntervalSeconds ? now : session.lastCreditedAt + credited * 1000;
+            delta.seconds += credited;
+            delta.heartbeats++;
+            delta.lastSeenAt = now;
+            return Heartbeat.RECORDED;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int getHeartbeatIntervalSeconds() {
+        return heartbeatIntervalSeconds;
+    }
+
+    public List<LessonTime> getLessonTimes(String userEmail, String courseId) {
+        return lessonTimeRepository.findByUserEmailAndCourseId(userEmail, courseId);
+    }
+
+    @Scheduled(fixedDelayString = "${learning.heartbeat.flush-interval-ms:10000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Key, Delta> batch = drain();
+            if (!batch.isEmpty()) {
+                write(new ArrayList<>(batch.entrySet()));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        logger.info("Flushing {} pending lesson time entries before shutdown", pendingKeys.get());
+        flush();
+    }
+
+    private Map<Key, Delta> drain() {
+        Map<Key, Delta> batch = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Map<Key, Delta> drained;
+            stripe.lock.lock();
+            try {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                drained = stripe.pending;
+                stripe.pending = new HashMap<>();
+            } finally {
+                stripe.lock.unlock();
+            }
+            pendingKeys.addAndGet(-drained.size());
+            batch.putAll(drained);
+        }
+        return batch;
+    }
+
+    private void restore(List<Map.Entry<Key, Delta>> unwritten) {
+        unwritten.forEach(entry -> {
+            Key key = entry.getKey();
+            Delta failed = entry.getValue();
+            Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+            stripe.lock.lock();
+            try {
+                Delta delta = stripe.pending.get(key);
+                if (delta == null) {
+                    stripe.pending.put(key, failed);
+                    pendingKeys.incrementAndGet();
+                } else {
+                    delta.seconds += failed.seconds;
+                    delta.heartbeats += failed.heartbeats;
+                    delta.lastSeenAt = Math.max(delta.lastSeenAt, failed.lastSeenAt);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+    }
+
+    // Chunks that fail (and everything after them) go back into the accumulator for the next flush
+    private void write(List<Map.Entry<Key, Delta>> entries) {
+        for (int start = 0; start < entries.size(); start += BULK_CHUNK_SIZE) {
+            int from = start;
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LessonTime.class);
+            for (Map.Entry<Key, Delta> entry : entries.subList(from, Math.min(from + BULK_CHUNK_SIZE, entries.size()))) {
+                Key key = entry.getKey();
+                Delta delta = entry.getValue();
+                Query query = new Query(Criteria.where("id").is(LessonTime.idFor(key.userEmail, key.courseId, key.lessonId)));
+                Update update = new Update()
+                        .inc("seconds", delta.seconds)
+                        .inc("heartbeats", delta.heartbeats)
+                        .max("lastSeenAt", Instant.ofEpochMilli(delta.lastSeenAt))
+                        .setOnInsert("userEmail", key.userEmail)
+                        .setOnInsert("courseId", key.courseId)
+                        .setOnInsert("lessonId", key.lessonId);
+                bulk.upsert(query, update);
+            }
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                // Unordered bulk: only the reported operations failed, the rest of the chunk was applied
+                List<Map.Entry<Key, Delta>> failed = new ArrayList<>();
+                e.getErrors().forEach(error -> failed.add(entries.get(from + error.getIndex())));
+                logger.error("Lesson time flush had {} failed upserts, keeping them for the next flush", failed.size());
+                restore(failed);
+            } catch (Exception e) {
+                logger.error("Lesson time flush failed, keeping {} entries for the next flush: {}",
+                        entries.size() - from, e.getMessage());
+                restore(entries.subList(from, entries.size()));
+                return;
+            }
+        }
+        logger.debug("Flushed {} lesson time entries", entries.size());
+    }
+
+    private static class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        Map<Key, Delta> pending = new HashMap<>();
+    }
+
+    private static class Session {
+        long lastCreditedAt;
+
+        Session(long lastCreditedAt) {
+            this.lastCreditedAt = lastCreditedAt;
+        }
+    }
+
+    private static class Delta {
+        long seconds;
+        long heartbeats;
+        long lastSeenAt;
+    }
+
+    private static final class Key {
+        final String userEmail;
+        final String courseId;
+        final String lessonId;
+        final int hash;
+
+        Key(String userEmail, String courseId, String lessonId) {
+            this.userEmail = userEmail;
+            this.courseId = courseId;
+            this.lessonId = lessonId;
+            this.hash = Objects.hash(userEmail, courseId, lessonId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return userEmail.equals(other.userEmail) && courseId.equals(other.courseId) && lessonId.equals(other.lessonId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
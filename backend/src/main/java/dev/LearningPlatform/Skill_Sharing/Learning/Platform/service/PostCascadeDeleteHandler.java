@@ -0,0 +1,68 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.CommentReaction;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// Removes a tombstoned post's comments (replies included) and their overflow reactions in
+// bounded deleteMany batches, then the post document itself. Every step re-reads what is
+// left, so a step repeated after a crash simply finds less to delete.
+@Component
+public class PostCascadeDeleteHandler implements BackgroundTaskHandler {
+    public static final String TYPE = "POST_CASCADE_DELETE";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${posts.cascade-delete.batch-size:500}")
+    private int batchSize;
+
+    public PostCascadeDeleteHandler(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public static String keyFor(String postId) {
+        return "post-delete:" + postId;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public boolean step(BackgroundTask task, BackgroundTaskQueue queue) {
+        String postId = task.getParams().get("postId");
+        Query postQuery = new Query(Criteria.where("id").is(postId));
+        postQuery.fields().include("deletedAt");
+        Post post = mongoTemplate.findOne(postQuery, Post.class);
+        if (post != null && post.getDeletedAt() == null) {
+            // Never cascade over a live post
+            return true;
+        }
+
+        Query batch = new Query(Criteria.where("postId").is(postId)).limit(batchSize);
+        batch.fields().include("id");
+        List<String> commentIds = mongoTemplate.find(batch, Comment.class).stream().map(Comment::getId).toList();
+        if (!commentIds.isEmpty()) {
+            // Reactions first: if the step dies in between, the comments are still there to be found again
+            mongoTemplate.remove(new Query(Criteria.where("commentId").in(commentIds)), CommentReaction.class);
+            long removed = mongoTemplate.remove(new Query(Criteria.where("id").in(commentIds)), Comment.class)
+                    .getDeletedCount();
+            long total = Long.parseLong(task.getCheckpoint().getOrDefault("deletedComments", "0")) + removed;
+            queue.checkpoint(task, Map.of("deletedComments", String.valueOf(total)));
+            return false;
+        }
+
+        mongoTemplate.remove(new Query(Criteria.where("id").is(postId).and("deletedAt").ne(null)), Post.class);
+        return true;
+    }
+}
@@ -2,53 +2,108 @@ package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
 
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.PostRepository;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class PostService {
 
+    private static final int MAX_COUNT_IDS = 200;
+
     private final PostRepository postRepository;
+    private final MongoTemplate mongoTemplate;
+    private final BackgroundTaskQueue taskQueue;
+    private final ContentModerationService moderationService;
 
-    public PostService(PostRepository postRepository) {
+    public PostService(PostRepository postRepository, MongoTemplate mongoTemplate, BackgroundTaskQueue taskQueue,
+                       ContentModerationService moderationService) {
         this.postRepository = postRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.taskQueue = taskQueue;
+        this.moderationService = moderationService;
+    }
+
+    private void moderate(Post post) {
+        moderationService.check("title", post.getTitle());
+        moderationService.check("description", post.getDescription());
+        moderationService.check("slogan", post.getSlogan());
     }
 
     public Post createPost(Post post, MultipartFile image) throws IOException {
+        moderate(post);
         return postRepository.save(post);
     }
 
     public List<Post> getAllPosts() {
-        return postRepository.findAllByOrderByCreatedAtDesc();
+        return postRepository.findAllByDeletedAtIsNullOrderByCreatedAtDesc();
     }
 
     public List<Post> getPostsByUserEmail(String userEmail) {
-        return postRepository.findByUserEmail(userEmail);
+        return postRepository.findByUserEmailAndDeletedAtIsNull(userEmail);
     }
 
     public Optional<Post> getPostById(String id) {
-        return postRepository.findById(id);
+        return postRepository.findByIdAndDeletedAtIsNull(id);
     }
 
     public Post updatePost(String id, Post updatedPost, MultipartFile image) throws IOException {
-        Optional<Post> existingPostOpt = postRepository.findById(id);
+        Optional<Post> existingPostOpt = postRepository.findByIdAndDeletedAtIsNull(id);
         if (existingPostOpt.isPresent()) {
-            Post existingPost = existingPostOpt.get();
-            existingPost.setTitle(updatedPost.getTitle());
-            existingPost.setDescription(updatedPost.getDescription());
-            existingPost.setSlogan(updatedPost.getSlogan());
-            existingPost.setUpdatedAt(updatedPost.getUpdatedAt());
-            existingPost.setImageBase64(updatedPost.getImageBase64());
-            return postRepository.save(existingPost);
+            moderate(updatedPost);
+            // $set only the editable fields so a concurrent commentCount $inc is not overwritten
+            Update update = new Update()
+                    .set("title", updatedPost.getTitle())
+                    .set("description", updatedPost.getDescription())
+                    .set("slogan", updatedPost.getSlogan())
+                    .set("updatedAt", updatedPost.getUpdatedAt())
+                    .set("imageBase64", updatedPost.getImageBase64());
+            Post saved = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(id).and("deletedAt").is(null)), update,
+                    FindAndModifyOptions.options().returnNew(true), Post.class);
+            if (saved == null) {
+                throw new IllegalArgumentException("Post not found");
+            }
+            return saved;
         } else {
             throw new IllegalArgumentException("Post not found");
         }
     }
 
+    // One $in query projected to the counter; unknown ids are left out of the result
+    public Map<String, Integer> getCommentCounts(List<String> postIds) {
+        List<String> ids = postIds.stream().distinct().limit(MAX_COUNT_IDS).toList();
+        Query query = new Query(Criteria.where("id").in(ids).and("deletedAt").is(null));
+        query.fields().include("commentCount");
+        Map<String, Integer> counts = new HashMap<>();
+        for (Post post : mongoTemplate.find(query, Post.class)) {
+            counts.put(post.getId(), post.getCommentCount());
+        }
+        return counts;
+    }
+
+    // Tombstones the post (dropping its image right away) and queues the cascade. Calling it
+    // again for a tombstoned post only re-queues the cascade, so a failed enqueue can be retried.
     public void deletePost(String id) {
-        postRepository.deleteById(id);
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().include("deletedAt");
+        Post post = mongoTemplate.findOne(query, Post.class);
+        if (post == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        if (post.getDeletedAt() == null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(id).and("deletedAt").is(null)),
+                    new Update().set("deletedAt", LocalDateTime.now()).unset("imageBase64"), Post.class);
+        }
+        taskQueue.enqueue(PostCascadeDeleteHandler.TYPE, PostCascadeDeleteHandler.keyFor(id), Map.of("postId", id));
     }
 }
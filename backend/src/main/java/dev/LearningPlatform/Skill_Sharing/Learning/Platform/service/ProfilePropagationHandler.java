@@ -0,0 +1,87 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Copies a user's current name and avatar into their comments, one batch per step. Only
+// comments stamped with an older authorVersion are touched, so repeated or overlapping
+// runs are harmless and a newer profile is never overwritten by an older one. Users
+// without a stored photo keep whatever avatar the client supplied (e.g. a Google picture);
+// only a stale URL pointing at our own image endpoint is removed.
+@Component
+public class ProfilePropagationHandler implements BackgroundTaskHandler {
+    public static final String TYPE = "PROFILE_PROPAGATION";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserDirectoryService userDirectoryService;
+
+    @Value("${comments.profile-propagation.batch-size:500}")
+    private int batchSize;
+
+    public ProfilePropagationHandler(MongoTemplate mongoTemplate, UserDirectoryService userDirectoryService) {
+        this.mongoTemplate = mongoTemplate;
+        this.userDirectoryService = userDirectoryService;
+    }
+
+    public static String keyFor(String userId) {
+        return "profile:" + userId;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public boolean step(BackgroundTask task, BackgroundTaskQueue queue) {
+        String userId = task.getParams().get("userId");
+        Query userQuery = new Query(Criteria.where("id").is(userId));
+        userQuery.fields().include("name", "email", "profileVersion");
+        User user = mongoTemplate.findOne(userQuery, User.class);
+        if (user == null || user.getEmail() == null) {
+            return true;
+        }
+        long version = user.getProfileVersion();
+
+        Query batch = new Query(Criteria.where("userEmail").is(user.getEmail()).andOperator(olderThan(version)))
+                .limit(batchSize);
+        batch.fields().include("id");
+        List<String> ids = mongoTemplate.find(batch, Comment.class).stream().map(Comment::getId).toList();
+        if (ids.isEmpty()) {
+            return true;
+        }
+        // Checked without loading the (large) photo itself
+        boolean hasPhoto = mongoTemplate.exists(
+                new Query(Criteria.where("id").is(userId).and("profilePhotoBase64").ne(null)), User.class);
+        Update update = new Update()
+                .set("authorName", user.getName())
+                .set("authorVersion", version);
+        if (hasPhoto) {
+            update.set("avatarUrl", userDirectoryService.avatarUrlFor(userId, version));
+        } else {
+            mongoTemplate.updateMulti(new Query(Criteria.where("id").in(ids)
+                            .and("avatarUrl").regex(userDirectoryService.ownAvatarUrlPattern(userId))
+                            .andOperator(olderThan(version))),
+                    new Update().unset("avatarUrl"), Comment.class);
+        }
+        mongoTemplate.updateMulti(new Query(Criteria.where("id").in(ids).andOperator(olderThan(version))),
+                update, Comment.class);
+        return false;
+    }
+
+    // Comments written before versioning have no authorVersion at all
+    private static Criteria olderThan(long version) {
+        return new Criteria().orOperator(
+                Criteria.where("authorVersion").lt(version),
+                Criteria.where("authorVersion").exists(false));
+    }
+}
@@ -0,0 +1,215 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Indexable skip list ordered by score (highest first, ties broken by key) plus a
+// key -> score map. Every forward pointer carries the number of nodes it skips, so
+// updates, rank lookups and offset reads are all O(log n).
+// Not thread-safe: callers guard it (see LeaderboardService).
+public class ScoreIndex {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    public static class Entry {
+        private final String key;
+        private final long score;
+        private final int rank;
+
+        Entry(String key, long score, int rank) {
+            this.key = key;
+            this.score = score;
+            this.rank = rank;
+        }
+
+        public String getKey() { return key; }
+        public long getScore() { return score; }
+        public int getRank() { return rank; }
+    }
+
+    private static class Node {
+        final String key;
+        final long score;
+        final Node[] next;
+        final int[] span;
+
+        Node(String key, long score, int level) {
+            this.key = key;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<String, Long> scores = new HashMap<>();
+    private int level = 1;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public long scoreOf(String key) {
+        Long score = scores.get(key);
+        return score == null ? 0 : score;
+    }
+
+    // Adds delta to the key's score; keys whose score drops to zero or below leave the index.
+    public long increment(String key, long delta) {
+        return set(key, scoreOf(key) + delta);
+    }
+
+    public long set(String key, long score) {
+        Long current = scores.get(key);
+        if (current != null) {
+            if (current == score) {
+                return score;
+            }
+            delete(key, current);
+            scores.remove(key);
+        }
+        if (score <= 0) {
+            return 0;
+        }
+        insert(key, score);
+        scores.put(key, score);
+        return score;
+    }
+
+    // 1-based rank, or 0 when the key is not ranked.
+    public int rankOf(String key) {
+        Long score = scores.get(key);
+        if (score == null) {
+            return 0;
+        }
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && !sortsAfter(x.next[i], key, score)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && x.key.equals(key)) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    public List<Entry> range(int offset, int count) {
+        List<Entry> entries = new ArrayList<>();
+        if (offset < 0 || offset >= size || count <= 0) {
+            return entries;
+        }
+        int target = offset + 1;
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0 && traversed < target; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+        int rank = target;
+        while (x != null && entries.size() < count) {
+            entries.add(new Entry(x.key, x.score, rank++));
+            x = x.next[0];
+        }
+        return entries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        scores.clear();
+        level = 1;
+        size = 0;
+    }
+
+    private void insert(String key, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && sortsBefore(x.next[i], key, score)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(key, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    private void delete(String key, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && sortsBefore(x.next[i], key, score)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        x = x.next[0];
+        if (x == null || x.score != score || !x.key.equals(key)) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    private static boolean sortsBefore(Node node, String key, long score) {
+        return node.score > score || (node.score == score && node.key.compareTo(key) < 0);
+    }
+
+    private static boolean sortsAfter(Node node, String key, long score) {
+        return node.score < score || (node.score == score && node.key.compareTo(key) > 0);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+}
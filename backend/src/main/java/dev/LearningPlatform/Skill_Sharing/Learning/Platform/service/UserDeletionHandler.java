@@ -0,0 +1,265 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Comment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.CommentReaction;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Course;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Enrollment;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonProgressDay;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonProgressEvent;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.LessonTime;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.Post;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.RefreshToken;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Purges a tombstoned account one bounded batch per step, phase by phase. The checkpoint
+// holds the current phase, a scan cursor where one is needed, and running counts that the
+// deletion progress endpoint reports. Every batch re-reads what is left, so a step
+// repeated after a crash finds less to do; a live (un-tombstoned) user is never touched.
+@Component
+public class UserDeletionHandler implements BackgroundTaskHandler {
+    public static final String TYPE = "USER_DELETE";
+
+    // In order; each phase runs until a batch finds nothing left
+    public enum Phase { POSTS, COMMENTS, REACTIONS, REACTION_SETS, LEARNING, COURSES, SESSIONS, ACCOUNT }
+
+    private static final List<Class<?>> LEARNING_RECORDS =
+            List.of(Enrollment.class, LessonTime.class, LessonProgressEvent.class, LessonProgressDay.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final BackgroundTaskQueue taskQueue;
+    private final UserOrdinalService userOrdinalService;
+
+    @Value("${users.delete.batch-size:500}")
+    private int batchSize;
+
+    @Value("${users.delete.scan-batch-size:5000}")
+    private int scanBatchSize;
+
+    public UserDeletionHandler(MongoTemplate mongoTemplate, BackgroundTaskQueue taskQueue,
+                               UserOrdinalService userOrdinalService) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskQueue = taskQueue;
+        this.userOrdinalService = userOrdinalService;
+    }
+
+    public static String keyFor(String userId) {
+        return "user-delete:" + userId;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public boolean step(BackgroundTask task, BackgroundTaskQueue queue) {
+        String userId = task.getParams().get("userId");
+        String email = task.getParams().get("email");
+        Query userQuery = new Query(Criteria.where("id").is(userId));
+        userQuery.fields().include("deletedAt");
+        User user = mongoTemplate.findOne(userQuery, User.class);
+        if (user != null && user.getDeletedAt() == null) {
+            // Never purge a live account
+            return true;
+        }
+
+        Map<String, String> checkpoint = new HashMap<>(task.getCheckpoint());
+        Phase phase = Phase.valueOf(checkpoint.getOrDefault("phase", Phase.POSTS.name()));
+        boolean finished = switch (phase) {
+            case POSTS -> tombstonePosts(email, checkpoint);
+            case COMMENTS -> removeComments(email, checkpoint);
+            case REACTIONS -> removeOverflowReactions(email, checkpoint);
+            case REACTION_SETS -> removeReactionSets(email, checkpoint);
+            case LEARNING -> removeLearningRecords(email, checkpoint);
+            case COURSES -> removeCourses(email, checkpoint);
+            case SESSIONS -> removeSessions(email, checkpoint);
+            case ACCOUNT -> removeAccount(userId);
+        };
+        if (finished) {
+            if (phase == Phase.ACCOUNT) {
+                return true;
+            }
+            checkpoint.remove("cursor");
+            checkpoint.put("phase", Phase.values()[phase.ordinal() + 1].name());
+        }
+        queue.checkpoint(task, checkpoint);
+        return false;
+    }
+
+    // Live posts get the same tombstone as a normal post delete and their own cascade task
+    private boolean tombstonePosts(String email, Map<String, String> checkpoint) {
+        List<String> ids = idsOf(new Query(Criteria.where("userEmail").is(email).and("deletedAt").is(null)), Post.class);
+        if (ids.isEmpty()) {
+            return true;
+        }
+        mongoTemplate.updateMulti(new Query(Criteria.where("id").in(ids).and("deletedAt").is(null)),
+                new Update().set("deletedAt", LocalDateTime.now()).unset("imageBase64"), Post.class);
+        for (String postId : ids) {
+            taskQueue.enqueue(PostCascadeDeleteHandler.TYPE, PostCascadeDeleteHandler.keyFor(postId), Map.of("postId", postId));
+        }
+        count(checkpoint, "posts", ids.size());
+        return false;
+    }
+
+    // The user's comments on other people's posts, with their overflow reactions and the
+    // post/parent counters they contributed to. Replies by others stay; the tree skips orphans.
+    private boolean removeComments(String email, Map<String, String> checkpoint) {
+        Query batch = new Query(Criteria.where("userEmail").is(email)).limit(batchSize);
+        batch.fields().include("id", "postId", "replyTo", "reply");
+        List<Comment> comments = mongoTemplate.find(batch, Comment.class);
+        if (comments.isEmpty()) {
+            return true;
+        }
+        List<String> ids = comments.stream().map(Comment::getId).toList();
+        mongoTemplate.remove(new Query(Criteria.where("commentId").in(ids)), CommentReaction.class);
+        mongoTemplate.remove(new Query(Criteria.where("id").in(ids)), Comment.class);
+
+        Map<String, Long> perPost = comments.stream().filter(comment -> comment.getPostId() != null)
+                .collect(Collectors.groupingBy(Comment::getPostId, Collectors.counting()));
+        Map<String, Long> perParent = comments.stream().filter(comment -> comment.isReply() && comment.getReplyTo() != null)
+                .collect(Collectors.groupingBy(Comment::getReplyTo, Collectors.counting()));
+        decrement(perPost, "commentCount", Post.class);
+        decrement(perParent, "replyCount", Comment.class);
+        count(checkpoint, "comments", ids.size());
+        return false;
+    }
+
+    private boolean removeOverflowReactions(String email, Map<String, String> checkpoint) {
+        Integer ordinal = userOrdinalService.find(email);
+        if (ordinal == null) {
+            return true;
+        }
+        Query batch = new Query(Criteria.where("userOrdinal").is(ordinal)).limit(batchSize);
+        List<CommentReaction> reactions = mongoTemplate.find(batch, CommentReaction.class);
+        if (reactions.isEmpty()) {
+            return true;
+        }
+        for (CommentReaction reaction : reactions) {
+            // Counter only moves if this step was the one that removed the reaction
+            if (mongoTemplate.remove(new Query(Criteria.where("id").is(reaction.getId())), CommentReaction.class)
+                    .getDeletedCount() > 0) {
+                String counter = CommentReactionService.Reaction.LIKE.type.equals(reaction.getType())
+                        ? CommentReactionService.Reaction.LIKE.counter : CommentReactionService.Reaction.DISLIKE.counter;
+                mongoTemplate.updateFirst(new Query(Criteria.where("id").is(reaction.getCommentId())),
+                        new Update().inc(counter, -1), Comment.class);
+            }
+        }
+        count(checkpoint, "reactions", reactions.size());
+        return false;
+    }
+
+    // Inline reaction arrays have no index on members, so comments are walked in _id ranges of
+    // scan-batch-size and the user's ordinal is pulled from each range with one update per type
+    private boolean removeReactionSets(String email, Map<String, String> checkpoint) {
+        Integer ordinal = userOrdinalService.find(email);
+        if (ordinal == null) {
+            return true;
+        }
+        String cursor = checkpoint.get("cursor");
+        Query range = new Query(cursor == null ? new Criteria() : Criteria.where("id").gt(new ObjectId(cursor)))
+                .with(Sort.by("id")).skip(scanBatchSize - 1).limit(1);
+        range.fields().include("id");
+        Comment last = mongoTemplate.findOne(range, Comment.class);
+
+        Criteria inRange = cursor == null ? new Criteria() : Criteria.where("id").gt(new ObjectId(cursor));
+        if (last != null) {
+            inRange = cursor == null ? Criteria.where("id").lte(new ObjectId(last.getId()))
+                    : inRange.lte(new ObjectId(last.getId()));
+        }
+        long removed = 0;
+        for (CommentReactionService.Reaction reaction : CommentReactionService.Reaction.values()) {
+            Query members = new Query(new Criteria().andOperator(inRange, Criteria.where(reaction.members).is(ordinal)));
+            removed += mongoTemplate.updateMulti(members,
+                    new Update().pull(reaction.members, ordinal).inc(reaction.counter, -1), Comment.class).getModifiedCount();
+        }
+        count(checkpoint, "reactions", removed);
+        if (last == null) {
+            // The remainder was shorter than one range, so this was the final pass
+            return true;
+        }
+        checkpoint.put("cursor", last.getId());
+        return false;
+    }
+
+    private boolean removeLearningRecords(String email, Map<String, String> checkpoint) {
+        for (Class<?> type : LEARNING_RECORDS) {
+            List<String> ids = idsOf(new Query(Criteria.where("userEmail").is(email)), type);
+            if (!ids.isEmpty()) {
+                mongoTemplate.remove(new Query(Criteria.where("id").in(ids)), type);
+                count(checkpoint, "learningRecords", ids.size());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Courses the user owns go with the account, after the enrollments that point at them
+    private boolean removeCourses(String email, Map<String, String> checkpoint) {
+        List<String> courseIds = idsOf(new Query(Criteria.where("userId").is(email)), Course.class);
+        if (courseIds.isEmpty()) {
+            return true;
+        }
+        List<String> enrollmentIds = idsOf(new Query(Criteria.where("courseId").in(courseIds)), Enrollment.class);
+        if (!enrollmentIds.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("id").in(enrollmentIds)), Enrollment.class);
+            count(checkpoint, "courseEnrollments", enrollmentIds.size());
+            return false;
+        }
+        mongoTemplate.remove(new Query(Criteria.where("id").in(courseIds)), Course.class);
+        count(checkpoint, "courses", courseIds.size());
+        return false;
+    }
+
+    private boolean removeSessions(String email, Map<String, String> checkpoint) {
+        long removed = mongoTemplate.remove(new Query(Criteria.where("userEmail").is(email)), RefreshToken.class)
+                .getDeletedCount();
+        count(checkpoint, "sessions", removed);
+        return true;
+    }
+
+    private boolean removeAccount(String userId) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(userId).and("deletedAt").ne(null)), User.class);
+        return true;
+    }
+
+    private List<String> idsOf(Query query, Class<?> type) {
+        query.limit(batchSize);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(type)).stream()
+                .map(document -> String.valueOf(document.get("_id") instanceof ObjectId
+                        ? ((ObjectId) document.get("_id")).toHexString() : document.get("_id")))
+                .toList();
+    }
+
+    private void decrement(Map<String, Long> amounts, String counter, Class<?> type) {
+        if (amounts.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        amounts.forEach((id, amount) -> bulk.updateOne(new Query(Criteria.where("id").is(id)),
+                new Update().inc(counter, -amount)));
+        bulk.execute();
+    }
+
+    private static void count(Map<String, String> checkpoint, String counter, long amount) {
+        checkpoint.merge(counter, String.valueOf(amount),
+                (current, added) -> String.valueOf(Long.parseLong(current) + Long.parseLong(added)));
+    }
+}
@@ -0,0 +1,109 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.CursorPage;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.UserSummary;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// User directory and author chips from a server-side projection: photos never leave the
+// database, only whether one exists (for the avatar URL). The directory pages by _id, so
+// each page is an index range scan no matter how deep the client has scrolled.
+@Service
+public class UserDirectoryService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final String apiBaseUrl;
+
+    public UserDirectoryService(MongoTemplate mongoTemplate, @Value("${app.api.url:http://localhost:8080}") String apiBaseUrl) {
+        this.mongoTemplate = mongoTemplate;
+        this.apiBaseUrl = apiBaseUrl.endsWith("/") ? apiBaseUrl.substring(0, apiBaseUrl.length() - 1) : apiBaseUrl;
+    }
+
+    // Absolute, because the frontend is served from another origin. The version query
+    // parameter changes with every profile update, so browsers drop the old image.
+    public String avatarUrlFor(String userId, long profileVersion) {
+        return apiBaseUrl + avatarPathFor(userId) + "?v=" + profileVersion;
+    }
+
+    // Matches avatar URLs this service handed out for the user, including older root-relative ones
+    public String ownAvatarUrlPattern(String userId) {
+        return "^(" + Pattern.quote(apiBaseUrl) + ")?" + Pattern.quote(avatarPathFor(userId));
+    }
+
+    private static String avatarPathFor(String userId) {
+        return "/api/users/images/" + userId + "/profile";
+    }
+
+    // cursor is the id of the last user on the previous page
+    public CursorPage<UserSummary> getDirectory(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Document match = new Document("deletedAt", null);
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            match.append("_id", new Document("$gt", new ObjectId(cursor)));
+        }
+        List<Document> pipeline = List.of(
+                new Document("$match", match),
+                new Document("$sort", new Document("_id", 1)),
+                new Document("$limit", pageSize + 1),
+                summaryProjection());
+
+        List<UserSummary> users = new ArrayList<>();
+        for (Document row : mongoTemplate.getCollection("users").aggregate(pipeline)) {
+            users.add(toSummary(row));
+        }
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextCursor = users.get(pageSize - 1).getId();
+        }
+        return new CursorPage<>(users, nextCursor);
+    }
+
+    public Optional<UserSummary> getSummary(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Optional.empty();
+        }
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("_id", new ObjectId(id)).append("deletedAt", null)),
+                summaryProjection());
+        Document row = mongoTemplate.getCollection("users").aggregate(pipeline).first();
+        return Optional.ofNullable(row).map(this::toSummary);
+    }
+
+    static Document summaryProjection() {
+        return new Document("$project", new Document()
+                .append("name", 1)
+                .append("username", 1)
+                .append("profileVersion", 1)
+                .append("hasPhoto", new Document("$ne", List.of(
+                        new Document("$ifNull", List.of("$profilePhotoBase64", "")), ""))));
+    }
+
+    UserSummary toSummary(Document row) {
+        String id = row.getObjectId("_id").toHexString();
+        Object version = row.get("profileVersion");
+        String avatarUrl = Boolean.TRUE.equals(row.getBoolean("hasPhoto"))
+                ? avatarUrlFor(id, version instanceof Number ? ((Number) version).longValue() : 0)
+                : null;
+        return new UserSummary(id, row.getString("name"), row.getString("username"), avatarUrl);
+    }
+
+    UserSummary summaryOf(User user) {
+        boolean hasPhoto = user.getProfilePhotoBase64() != null && !user.getProfilePhotoBase64().isEmpty();
+        return new UserSummary(user.getId(), user.getName(), user.getUsername(),
+                hasPhoto ? avatarUrlFor(user.getId(), user.getProfileVersion()) : null);
+    }
+}
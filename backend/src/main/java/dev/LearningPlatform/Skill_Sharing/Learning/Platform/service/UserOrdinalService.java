@@ -0,0 +1,77 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interns user emails to small, stable int ordinals so per-comment reaction sets can be
+// stored as sorted int arrays. Mappings live in "userOrdinals" and are never reassigned;
+// the sequence is a counter document in "counters".
+@Service
+public class UserOrdinalService {
+    private static final String ORDINALS = "userOrdinals";
+    private static final String COUNTERS = "counters";
+    private static final String SEQUENCE_ID = "userOrdinal";
+
+    private final MongoTemplate mongoTemplate;
+    private final ConcurrentHashMap<String, Integer> cache = new ConcurrentHashMap<>();
+
+    public UserOrdinalService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public int intern(String userEmail) {
+        Integer cached = cache.get(userEmail);
+        if (cached != null) {
+            return cached;
+        }
+        Integer existing = lookup(userEmail);
+        if (existing == null) {
+            int next = nextOrdinal();
+            try {
+                mongoTemplate.insert(new Document("_id", userEmail).append("ordinal", next), ORDINALS);
+                existing = next;
+            } catch (DuplicateKeyException e) {
+                // Another request interned the same user first; its ordinal wins
+                existing = lookup(userEmail);
+            }
+        }
+        cache.put(userEmail, existing);
+        return existing;
+    }
+
+    // Read-only variant for checks that should not allocate an ordinal for a user who never reacted
+    public Integer find(String userEmail) {
+        Integer cached = cache.get(userEmail);
+        if (cached != null) {
+            return cached;
+        }
+        Integer existing = lookup(userEmail);
+        if (existing != null) {
+            cache.put(userEmail, existing);
+        }
+        return existing;
+    }
+
+    private Integer lookup(String userEmail) {
+        Document mapping = mongoTemplate.findById(userEmail, Document.class, ORDINALS);
+        return mapping == null ? null : mapping.getInteger("ordinal");
+    }
+
+    private int nextOrdinal() {
+        Document counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(SEQUENCE_ID)),
+                new Update().inc("seq", 1),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class,
+                COUNTERS);
+        return counter.getInteger("seq");
+    }
+}
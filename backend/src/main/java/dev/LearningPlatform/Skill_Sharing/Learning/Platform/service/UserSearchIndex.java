@@ -0,0 +1,185 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.UserSummary;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// In-memory prefix index for people search and @mention autocomplete. Every user is
+// filed under their normalized username, full name and each name word, as sorted keys
+// "<term>\0<userId>" in a skip list, so a prefix query is one ordered range scan that
+// stops after k distinct users. Built from a streamed projection at startup and rebuilt
+// periodically; UserService keeps it current in between.
+@Service
+public class UserSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+    private static final char SEPARATOR = '\u0000';
+    private static final int MAX_RESULTS = 50;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static class Index {
+        final ConcurrentSkipListMap<String, UserSummary> entries = new ConcurrentSkipListMap<>();
+        final ConcurrentHashMap<String, List<String>> keysByUser = new ConcurrentHashMap<>();
+
+        void put(UserSummary user) {
+            List<String> keys = new ArrayList<>();
+            for (String term : termsOf(user)) {
+                String key = term + SEPARATOR + user.getId();
+                keys.add(key);
+                entries.put(key, user);
+            }
+            List<String> previous = keysByUser.put(user.getId(), keys);
+            if (previous != null) {
+                previous.stream().filter(key -> !keys.contains(key)).forEach(entries::remove);
+            }
+        }
+
+        void remove(String userId) {
+            List<String> keys = keysByUser.remove(userId);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final UserDirectoryService userDirectoryService;
+    private final Timer searchTimer;
+    private volatile Index current = new Index();
+    // While a rebuild runs, changes go to both indexes and the scan skips the users they touched
+    private volatile Index building;
+    private final Set<String> touchedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    public UserSearchIndex(MongoTemplate mongoTemplate, UserDirectoryService userDirectoryService,
+                           MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.userDirectoryService = userDirectoryService;
+        this.searchTimer = Timer.builder("users.search").description("User prefix search latency")
+                .register(meterRegistry);
+        meterRegistry.gauge("users.search.indexed", this, index -> index.current.keysByUser.size());
+    }
+
+    public List<UserSummary> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+        return searchTimer.record(() -> {
+            Map<String, UserSummary> found = new LinkedHashMap<>();
+            for (UserSummary user : current.entries.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+                found.putIfAbsent(user.getId(), user);
+                if (found.size() == k) {
+                    break;
+                }
+            }
+            return new ArrayList<>(found.values());
+        });
+    }
+
+    public void put(User user) {
+        if (user != null && user.getId() != null) {
+            put(userDirectoryService.summaryOf(user));
+        }
+    }
+
+    public void put(UserSummary summary) {
+        Index rebuilding = building;
+        if (rebuilding != null) {
+            touchedDuringBuild.add(summary.getId());
+            rebuilding.put(summary);
+        }
+        current.put(summary);
+    }
+
+    public void remove(String userId) {
+        Index rebuilding = building;
+        if (rebuilding != null) {
+            touchedDuringBuild.add(userId);
+            rebuilding.remove(userId);
+        }
+        current.remove(userId);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${users.search.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${users.search.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        Index next = new Index();
+        touchedDuringBuild.clear();
+        building = next;
+        long start = System.nanoTime();
+        try {
+            List<Document> pipeline = List.of(new Document("$match", new Document("deletedAt", null)),
+                    UserDirectoryService.summaryProjection());
+            for (Document row : mongoTemplate.getCollection("users").aggregate(pipeline).batchSize(1000)) {
+                UserSummary user = userDirectoryService.toSummary(row);
+                if (!touchedDuringBuild.contains(user.getId())) {
+                    next.put(user);
+                }
+            }
+            current = next;
+            logger.info("Indexed {} users for search in {} ms", next.keysByUser.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("User search index rebuild failed, keeping {} users: {}",
+                    current.keysByUser.size(), e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    private static List<String> termsOf(UserSummary user) {
+        List<String> terms = new ArrayList<>();
+        String username = normalize(user.getUsername());
+        if (!username.isEmpty()) {
+            terms.add(username);
+        }
+        String name = normalize(user.getName());
+        if (!name.isEmpty()) {
+            terms.add(name);
+            for (String word : name.split(" ")) {
+                if (!terms.contains(word)) {
+                    terms.add(word);
+                }
+            }
+        }
+        return terms;
+    }
+
+    // Case- and accent-insensitive, single spaces; a leading @ is ignored for mentions
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String normalized = SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return normalized.startsWith("@") ? normalized.substring(1).trim() : normalized;
+    }
+}
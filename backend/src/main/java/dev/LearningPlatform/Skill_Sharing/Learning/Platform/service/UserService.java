@@ -1,34 +1,72 @@
 package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
 
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.UserProfile;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.BackgroundTask;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
 import dev.LearningPlatform.Skill_Sharing.Learning.Platform.repository.UserRepository;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.RefreshTokenService;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.TokenDenylist;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.security.UserDetailsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final BackgroundTaskQueue taskQueue;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenDenylist tokenDenylist;
+    private final UserSearchIndex userSearchIndex;
+    private final UserDirectoryService userDirectoryService;
+    private final MongoTemplate mongoTemplate;
+    private final RefreshTokenService refreshTokenService;
 
     @Autowired
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       BackgroundTaskQueue taskQueue,
+                       UserDetailsCache userDetailsCache,
+                       TokenDenylist tokenDenylist,
+                       UserSearchIndex userSearchIndex,
+                       UserDirectoryService userDirectoryService,
+                       MongoTemplate mongoTemplate,
+                       RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.taskQueue = taskQueue;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenDenylist = tokenDenylist;
+        this.userSearchIndex = userSearchIndex;
+        this.userDirectoryService = userDirectoryService;
+        this.mongoTemplate = mongoTemplate;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public List<User> getAllUsers() {
-        return userRepository.findAll();
+        return userRepository.findByDeletedAtIsNull();
     }
 
     public Optional<User> getUserById(String id) {
-        return userRepository.findById(id);
+        return userRepository.findById(id).filter(user -> user.getDeletedAt() == null);
     }
 
     public User createUser(User user) {
@@ -39,36 +77,153 @@ public class UserService {
         if (user.getRoles() == null || user.getRoles().isEmpty()) {
             user.setRoles(List.of("ROLE_USER"));
         }
-        return userRepository.save(user);
+        user.setCreatedAt(Instant.now());
+        User saved = userRepository.save(user);
+        userSearchIndex.put(saved);
+        return saved;
+    }
+
+    // Profile fields only, written as a $set of what was supplied; photos go through updatePhotos.
+    // The returned profile leaves out photos, password and enrollments.
+    public UserProfile updateUser(String id, User details) {
+        User current = findForUpdate(id);
+        if (current == null) {
+            return null;
+        }
+        String previousEmail = current.getEmail();
+        Update update = new Update();
+        boolean emailChanged = details.getEmail() != null && !details.getEmail().equals(previousEmail);
+        if (emailChanged) {
+            if (mongoTemplate.exists(new Query(Criteria.where("email").is(details.getEmail())), User.class)) {
+                throw new DuplicateKeyException("Email already exists");
+            }
+            // The unique index still decides if two changes to the same email race
+            update.set("email", details.getEmail());
+        }
+        boolean nameChanged = details.getName() != null && !details.getName().equals(current.getName());
+        if (details.getName() != null) update.set("name", details.getName());
+        if (details.getUsername() != null) update.set("username", details.getUsername());
+        if (details.getAge() != 0) update.set("age", details.getAge());
+        if (details.getLocation() != null) update.set("location", details.getLocation());
+        if (details.getBio() != null) update.set("bio", details.getBio());
+        boolean passwordChanged = details.getPassword() != null && !details.getPassword().isBlank();
+        if (passwordChanged) {
+            update.set("password", passwordEncoder.encode(details.getPassword()));
+        }
+        // Tokens carry email and roles as claims, so changing either revokes the old tokens
+        boolean rolesChanged = details.getRoles() != null && !details.getRoles().isEmpty()
+                && !details.getRoles().equals(current.getRoles());
+        if (rolesChanged) {
+            update.set("roles", details.getRoles());
+        }
+        if (nameChanged) {
+            update.inc("profileVersion", 1);
+        }
+        Query query = withoutHeavyFields(new Query(liveUser(id)));
+        if (update.getUpdateObject().isEmpty()) {
+            return UserProfile.of(mongoTemplate.findOne(query, User.class));
+        }
+
+        User saved = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+        if (saved == null) {
+            return null;
+        }
+        userDetailsCache.invalidate(previousEmail);
+        userDetailsCache.invalidate(saved.getEmail());
+        refreshSearchEntry(id);
+        if (emailChanged || rolesChanged || passwordChanged) {
+            tokenDenylist.revokeAllFor(previousEmail);
+        }
+        // A new password ends every session, including ones that could still refresh
+        if (passwordChanged) {
+            refreshTokenService.revokeAllFor(previousEmail);
+        }
+        if (nameChanged) {
+            propagateProfile(saved);
+        }
+        return UserProfile.of(saved);
+    }
+
+    // Replaces whichever photos are given; a new profile photo bumps profileVersion so avatar URLs change
+    public UserProfile updatePhotos(String id, String profilePhotoBase64, String coverPhotoBase64) {
+        Update update = new Update();
+        if (profilePhotoBase64 != null) {
+            update.set("profilePhotoBase64", profilePhotoBase64).inc("profileVersion", 1);
+        }
+        if (coverPhotoBase64 != null) {
+            update.set("coverPhotoBase64", coverPhotoBase64);
+        }
+        Query query = withoutHeavyFields(new Query(liveUser(id)));
+        if (update.getUpdateObject().isEmpty()) {
+            return UserProfile.of(mongoTemplate.findOne(query, User.class));
+        }
+        User saved = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+        if (saved != null && profilePhotoBase64 != null) {
+            refreshSearchEntry(id);
+            propagateProfile(saved);
+        }
+        return UserProfile.of(saved);
+    }
+
+    private User findForUpdate(String id) {
+        Query query = new Query(liveUser(id));
+        query.fields().include("email", "name", "roles", "profileVersion");
+        return mongoTemplate.findOne(query, User.class);
+    }
+
+    // Tombstoned accounts are being purged, so profile and photo updates treat them as missing
+    private static Criteria liveUser(String id) {
+        return Criteria.where("id").is(id).and("deletedAt").is(null);
+    }
+
+    private static Query withoutHeavyFields(Query query) {
+        query.fields().exclude("profilePhotoBase64", "coverPhotoBase64", "password", "enrolledCourses");
+        return query;
     }
 
-    public User updateUser(String id, User details) {
-        return userRepository.findById(id)
-                .map(user -> {
-                    if (details.getEmail() != null && !user.getEmail().equals(details.getEmail())) {
-                        if (userRepository.findByEmail(details.getEmail()).isPresent()) {
-                            throw new DuplicateKeyException("Email already exists");
-                        }
-                        user.setEmail(details.getEmail());
-                    }
-                    if (details.getName() != null) user.setName(details.getName());
-                    if (details.getUsername() != null) user.setUsername(details.getUsername());
-                    if (details.getAge() != 0) user.setAge(details.getAge());
-                    if (details.getLocation() != null) user.setLocation(details.getLocation());
-                    if (details.getBio() != null) user.setBio(details.getBio());
-                    if (details.getProfilePhotoBase64() != null) user.setProfilePhotoBase64(details.getProfilePhotoBase64());
-                    if (details.getCoverPhotoBase64() != null) user.setCoverPhotoBase64(details.getCoverPhotoBase64());
-                    if (details.getPassword() != null && !details.getPassword().isBlank()) {
-                        user.setPassword(passwordEncoder.encode(details.getPassword()));
-                    }
-                    if (details.getRoles() != null && !details.getRoles().isEmpty()) {
-                        user.setRoles(details.getRoles());
-                    }
-                    return userRepository.save(user);
-                }).orElse(null);
+    private void refreshSearchEntry(String id) {
+        try {
+            userDirectoryService.getSummary(id).ifPresent(userSearchIndex::put);
+        } catch (Exception e) {
+            // The periodic rebuild will pick the change up
+            logger.error("Could not refresh search entry for user {}: {}", id, e.getMessage());
+        }
+    }
+
+    // Comments keep denormalized author name/avatar copies; refresh them in the background
+    private void propagateProfile(User user) {
+        try {
+            taskQueue.enqueue(ProfilePropagationHandler.TYPE, ProfilePropagationHandler.keyFor(user.getId()),
+                    Map.of("userId", user.getId()));
+        } catch (Exception e) {
+            logger.error("Could not queue profile propagation for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    // Tombstones the account at once (no more logins, photos dropped, sessions revoked) and
+    // leaves the purge of everything the user owns to a USER_DELETE background task
+    public boolean deleteUser(String id) {
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().include("email", "deletedAt");
+        User user = mongoTemplate.findOne(query, User.class);
+        if (user == null) {
+            return false;
+        }
+        if (user.getDeletedAt() == null) {
+            mongoTemplate.updateFirst(new Query(liveUser(id)),
+                    new Update().set("deletedAt", LocalDateTime.now())
+                            .unset("profilePhotoBase64").unset("coverPhotoBase64"), User.class);
+        }
+        userDetailsCache.invalidate(user.getEmail());
+        tokenDenylist.revokeAllFor(user.getEmail());
+        refreshTokenService.revokeAllFor(user.getEmail());
+        userSearchIndex.remove(id);
+        taskQueue.enqueue(UserDeletionHandler.TYPE, UserDeletionHandler.keyFor(id),
+                Map.of("userId", id, "email", user.getEmail()));
+        return true;
     }
 
-    public void deleteUser(String id) {
-        userRepository.deleteById(id);
+    public Optional<BackgroundTask> getDeletionProgress(String id) {
+        return Optional.ofNullable(taskQueue.find(UserDeletionHandler.keyFor(id)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickAutomatonTests {
+
+    @Test
+    void reportsOverlappingTermsInOrderOfFirstOccurrence() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(List.of("word", "bad word", "bad"));
+
+        assertThat(automaton.findMatches("a bad word here", 10)).containsExactly("bad", "bad word", "word");
+    }
+
+    @Test
+    void onlyMatchesWholeWords() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(List.of("he", "she", "ass"));
+
+        assertThat(automaton.findMatches("she said", 10)).containsExactly("she");
+        assertThat(automaton.findMatches("first class", 10)).isEmpty();
+        assertThat(automaton.findMatches("what an ass!", 10)).containsExactly("ass");
+    }
+
+    @Test
+    void ignoresCaseAndReportsEachTermOnce() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(List.of(" Bad ", "bad", "worse"));
+
+        assertThat(automaton.size()).isEqualTo(2);
+        assertThat(automaton.findMatches("BAD, bad and Worse", 10)).containsExactly("bad", "worse");
+        assertThat(automaton.findMatches("BAD, bad and Worse", 1)).containsExactly("bad");
+    }
+
+    @Test
+    void matchesFullwidthAndAccentedSpellings() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(List.of("bad", "café"));
+
+        // Fullwidth letters, a precomposed umlaut and a combining diaeresis
+        assertThat(automaton.findMatches("so ＢＡＤ today", 10)).containsExactly("bad");
+        assertThat(automaton.findMatches("bäd", 10)).containsExactly("bad");
+        assertThat(automaton.findMatches("bäd", 10)).containsExactly("bad");
+        assertThat(automaton.findMatches("the CAFE is open", 10)).containsExactly("cafe");
+    }
+
+    @Test
+    void emptyAutomatonMatchesNothing() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(List.of(" ", "́"));
+
+        assertThat(automaton.size()).isZero();
+        assertThat(automaton.findMatches("anything at all", 10)).isEmpty();
+        assertThat(automaton.findMatches(null, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,111 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreIndexTests {
+
+    @Test
+    void ordersByScoreDescendingThenByKey() {
+        ScoreIndex index = new ScoreIndex();
+        index.set("carol", 20);
+        index.set("alice", 10);
+        index.set("bob", 30);
+        index.set("dave", 20);
+
+        assertThat(index.range(0, 10)).extracting(ScoreIndex.Entry::getKey)
+                .containsExactly("bob", "carol", "dave", "alice");
+        assertThat(index.range(0, 10)).extracting(ScoreIndex.Entry::getRank)
+                .containsExactly(1, 2, 3, 4);
+        assertThat(index.rankOf("dave")).isEqualTo(3);
+        assertThat(index.rankOf("nobody")).isZero();
+    }
+
+    @Test
+    void updatesMoveKeysAndDropNonPositiveScores() {
+        ScoreIndex index = new ScoreIndex();
+        index.set("alice", 10);
+        index.set("bob", 30);
+        index.set("carol", 20);
+
+        assertThat(index.increment("alice", 25)).isEqualTo(35);
+        assertThat(index.rankOf("alice")).isEqualTo(1);
+        assertThat(index.rankOf("bob")).isEqualTo(2);
+
+        assertThat(index.increment("bob", -30)).isZero();
+        assertThat(index.rankOf("bob")).isZero();
+        assertThat(index.scoreOf("bob")).isZero();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.range(0, 10)).extracting(ScoreIndex.Entry::getKey).containsExactly("alice", "carol");
+    }
+
+    @Test
+    void rangeReadsFromAnOffset() {
+        ScoreIndex index = new ScoreIndex();
+        for (int i = 1; i <= 10; i++) {
+            index.set("user" + i, i);
+        }
+
+        List<ScoreIndex.Entry> page = index.range(3, 3);
+        assertThat(page).extracting(ScoreIndex.Entry::getKey).containsExactly("user7", "user6", "user5");
+        assertThat(page).extracting(ScoreIndex.Entry::getRank).containsExactly(4, 5, 6);
+        assertThat(index.range(9, 5)).extracting(ScoreIndex.Entry::getKey).containsExactly("user1");
+        assertThat(index.range(10, 5)).isEmpty();
+        assertThat(index.range(-1, 5)).isEmpty();
+    }
+
+    @Test
+    void matchesASortedListAfterRandomUpdates() {
+        ScoreIndex index = new ScoreIndex();
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            String key = "k" + random.nextInt(500);
+            long delta = random.nextInt(40) - 10;
+            long score = index.increment(key, delta);
+            long modelScore = expected.getOrDefault(key, 0L) + delta;
+            if (modelScore > 0) {
+                expected.put(key, modelScore);
+            } else {
+                expected.remove(key);
+            }
+            assertThat(score).isEqualTo(Math.max(modelScore, 0));
+        }
+
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Comparator.<Map.Entry<String, Long>>comparingLong(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey));
+        assertThat(index.size()).isEqualTo(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(index.rankOf(sorted.get(i).getKey())).isEqualTo(i + 1);
+        }
+        for (int offset = 0; offset < sorted.size(); offset += 37) {
+            List<ScoreIndex.Entry> page = index.range(offset, 37);
+            for (int i = 0; i < page.size(); i++) {
+                assertThat(page.get(i).getKey()).isEqualTo(sorted.get(offset + i).getKey());
+                assertThat(page.get(i).getScore()).isEqualTo(sorted.get(offset + i).getValue());
+                assertThat(page.get(i).getRank()).isEqualTo(offset + i + 1);
+            }
+        }
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        ScoreIndex index = new ScoreIndex();
+        index.set("alice", 10);
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.rankOf("alice")).isZero();
+        index.set("bob", 5);
+        assertThat(index.range(0, 10)).extracting(ScoreIndex.Entry::getKey).containsExactly("bob");
+    }
+}
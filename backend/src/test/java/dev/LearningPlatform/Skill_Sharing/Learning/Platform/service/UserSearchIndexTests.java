@@ -0,0 +1,93 @@
+package dev.LearningPlatform.Skill_Sharing.Learning.Platform.service;
+
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.dto.UserSummary;
+import dev.LearningPlatform.Skill_Sharing.Learning.Platform.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchIndexTests {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Only rebuild() reads the database; these tests feed the index directly
+        UserDirectoryService directory = new UserDirectoryService(null, "http://localhost:8080/");
+        index = new UserSearchIndex(null, directory, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void normalizesCaseAccentsSpacesAndMentions() {
+        assertThat(UserSearchIndex.normalize("  José   ÁLVAREZ ")).isEqualTo("jose alvarez");
+        assertThat(UserSearchIndex.normalize("@Zoë")).isEqualTo("zoe");
+        assertThat(UserSearchIndex.normalize("@ ")).isEmpty();
+        assertThat(UserSearchIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void findsUsersByUsernameFullNameOrAnyNameWord() {
+        index.put(summary("1", "José Álvarez", "jalvarez"));
+        index.put(summary("2", "Maria Lopez", "mlopez"));
+
+        assertThat(ids(index.search("jal", 10))).containsExactly("1");
+        assertThat(ids(index.search("Jose Al", 10))).containsExactly("1");
+        assertThat(ids(index.search("alva", 10))).containsExactly("1");
+        assertThat(ids(index.search("@LOP", 10))).containsExactly("2");
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void returnsEachUserOnceAndStopsAtK() {
+        // "anna", "anna annabel" and "annabel" all start with "ann"
+        index.put(summary("1", "Anna Annabel", "anna"));
+        index.put(summary("2", "Annie Hall", "ahall"));
+        index.put(summary("3", "Hannah Ann", "hannah"));
+        index.put(summary("4", "Bob Stone", "bstone"));
+
+        // Keys sort by term first, so Hannah's exact word "ann" comes before the longer terms
+        assertThat(ids(index.search("ann", 10))).containsExactly("3", "1", "2");
+        assertThat(ids(index.search("ann", 2))).containsExactly("3", "1");
+        assertThat(ids(index.search("ann", 0))).containsExactly("3");
+    }
+
+    @Test
+    void updatesReplaceOldTermsAndRemoveDropsTheUser() {
+        index.put(summary("1", "Anna Smith", "asmith"));
+        index.put(summary("1", "Anna Jones", "ajones"));
+
+        assertThat(index.search("smith", 10)).isEmpty();
+        assertThat(index.search("asm", 10)).isEmpty();
+        assertThat(index.search("jones", 10)).extracting(UserSummary::getName).containsExactly("Anna Jones");
+
+        index.remove("1");
+        assertThat(index.search("anna", 10)).isEmpty();
+    }
+
+    @Test
+    void indexesUsersWithAbsoluteAvatarUrls() {
+        User user = new User();
+        user.setId("65f0c0ffee0000000000abcd");
+        user.setName("Photo Owner");
+        user.setUsername("photo");
+        user.setProfilePhotoBase64("aGVsbG8=");
+        user.setProfileVersion(3);
+        index.put(user);
+
+        assertThat(index.search("photo", 10)).extracting(UserSummary::getAvatarUrl)
+                .containsExactly("http://localhost:8080/api/users/images/65f0c0ffee0000000000abcd/profile?v=3");
+    }
+
+    private static UserSummary summary(String id, String name, String username) {
+        return new UserSummary(id, name, username, null);
+    }
+
+    private static List<String> ids(List<UserSummary> users) {
+        return users.stream().map(UserSummary::getId).toList();
+    }
+}